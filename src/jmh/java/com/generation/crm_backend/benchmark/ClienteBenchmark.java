@@ -0,0 +1,105 @@
+package com.generation.crm_backend.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.generation.crm_backend.dto.ClienteRequestDTO;
+import com.generation.crm_backend.dto.JanelaDTO;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.service.ClienteService;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+
+// Caminhos quentes do ClienteService: paginação (offset e cursor), buscas, cadastro, alteração e exportação
+public class ClienteBenchmark extends ContextoBenchmark {
+
+  private static final int TAMANHO_PAGINA = 20;
+
+  private final AtomicLong sequencia = new AtomicLong(10_000_000_000L);
+
+  private ClienteService clienteService;
+
+  @Override
+  protected void prepararBenchmark() {
+    clienteService = bean(ClienteService.class);
+  }
+
+  @Benchmark
+  public Object paginaInicial() {
+    return clienteService.getAll(0, TAMANHO_PAGINA, "nome", "asc");
+  }
+
+  // Página aleatória: o custo do OFFSET cresce com a posição
+  @Benchmark
+  public Object paginaAleatoria() {
+    int pagina = ThreadLocalRandom.current().nextInt(Math.max(1, clientes / TAMANHO_PAGINA));
+    return clienteService.getAll(pagina, TAMANHO_PAGINA, "nome", "asc");
+  }
+
+  // Percorre 10 janelas seguidas pelo cursor, como um scroll infinito
+  @Benchmark
+  public void paginasPorCursor(Blackhole blackhole) {
+    String cursor = null;
+    for (int i = 0; i < 10; i++) {
+      JanelaDTO<Cliente> janela = clienteService.getAllJanela(cursor, TAMANHO_PAGINA, "nome", "asc");
+      blackhole.consume(janela);
+      if (!janela.temProxima()) {
+        return;
+      }
+      cursor = janela.proximoCursor();
+    }
+  }
+
+  @Benchmark
+  public Object buscaPorNome() {
+    return clienteService.getAllByNome("a1", 0, TAMANHO_PAGINA, "nome", "asc");
+  }
+
+  @Benchmark
+  public Object buscaPorEmail() {
+    return clienteService.getByEmail(emailCliente(ThreadLocalRandom.current().nextInt(clientes)).toUpperCase());
+  }
+
+  @Benchmark
+  public Object cadastro() {
+    return clienteService.create(novoCliente(sequencia.incrementAndGet()));
+  }
+
+  // Troca só o lead score de um cliente da massa, mantendo os identificadores únicos
+  @Benchmark
+  public Object alteracao() {
+    long i = ThreadLocalRandom.current().nextInt(clientes);
+    ClienteRequestDTO dados = new ClienteRequestDTO();
+    dados.setNome(nomeCliente(i));
+    dados.setEmail(emailCliente(i));
+    dados.setTelefone(String.format("%011d", i));
+    dados.setLeadScore((float) ThreadLocalRandom.current().nextInt(11));
+    return clienteService.update(primeiroClienteId + i, dados);
+  }
+
+  // A exportação percorre a tabela inteira, então cada invocação é bem mais lenta
+  @Benchmark
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 3)
+  public Object exportacaoCsv()
+      throws IOException, CsvDataTypeMismatchException, CsvRequiredFieldEmptyException {
+    return clienteService.exportarCsv(Writer.nullWriter());
+  }
+
+  private ClienteRequestDTO novoCliente(long i) {
+    ClienteRequestDTO dados = new ClienteRequestDTO();
+    dados.setNome("Cliente Novo " + i);
+    dados.setEmail("novo" + i + "@bench.local");
+    dados.setTelefone(Long.toString(i));
+    dados.setCpf(String.format("%011d", i % 100_000_000_000L));
+    dados.setLeadScore(5f);
+    return dados;
+  }
+}
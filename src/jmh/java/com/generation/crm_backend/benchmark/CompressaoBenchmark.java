@@ -0,0 +1,144 @@
+package com.generation.crm_backend.benchmark;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.service.ClienteService;
+import com.generation.crm_backend.service.OportunidadeService;
+import com.generation.crm_backend.service.UsuarioService;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+
+// Custo de CPU (tempo por requisição) e bytes na rede das respostas grandes com e sem gzip.
+// O gzip usa o mesmo nível padrão do filtro de compressão do Tomcat; os bytes saem como métricas secundárias do JMH
+// (bytesNaRede, bytesSemCompressao e requisicoes por iteração), no mesmo relatório do tempo.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompressaoBenchmark extends ContextoBenchmark {
+
+  private static final int TAMANHO_PAGINA = 100;
+  private static final int TAMANHO_BUFFER = 8192;
+
+  @Param({ "identity", "gzip" })
+  public String codificacao;
+
+  private ObjectMapper objectMapper;
+  private ClienteService clienteService;
+  private OportunidadeService oportunidadeService;
+  private UsuarioService usuarioService;
+
+  // Totais da iteração; bytes por requisição = bytesNaRede / requisicoes
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Bytes {
+
+    public long requisicoes;
+    public long bytesNaRede;
+    public long bytesSemCompressao;
+
+    @Setup(Level.Iteration)
+    public void zerar() {
+      requisicoes = 0;
+      bytesNaRede = 0;
+      bytesSemCompressao = 0;
+    }
+  }
+
+  @Override
+  protected void prepararBenchmark() {
+    objectMapper = bean(ObjectMapper.class);
+    clienteService = bean(ClienteService.class);
+    oportunidadeService = bean(OportunidadeService.class);
+    usuarioService = bean(UsuarioService.class);
+  }
+
+  // GET /oportunidades/busca com página cheia e entidades completas (cliente e usuário aninhados)
+  @Benchmark
+  public long paginaDeOportunidades(Bytes bytes) throws IOException {
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.EM_NEGOCIACAO, null, null, null,
+        null, LocalDate.now().minusDays(180), LocalDate.now(), null);
+    Resposta resposta = abrirResposta();
+    objectMapper.writeValue(resposta.corpo(), oportunidadeService.buscar(filtro, 0, TAMANHO_PAGINA, "id", "asc"));
+    return fecharResposta(resposta, bytes);
+  }
+
+  // GET /usuarios/all
+  @Benchmark
+  public long listaDeUsuarios(Bytes bytes) throws IOException {
+    Resposta resposta = abrirResposta();
+    objectMapper.writeValue(resposta.corpo(), usuarioService.findAll());
+    return fecharResposta(resposta, bytes);
+  }
+
+  // GET /clientes/exportar-csv: tabela inteira em streaming, comprimida à medida que é escrita
+  @Benchmark
+  public long exportacaoCsv(Bytes bytes)
+      throws IOException, CsvDataTypeMismatchException, CsvRequiredFieldEmptyException {
+    Resposta resposta = abrirResposta();
+    try (Writer writer = new OutputStreamWriter(resposta.corpo(), StandardCharsets.UTF_8)) {
+      clienteService.exportarCsv(writer);
+    }
+    return fecharResposta(resposta, bytes);
+  }
+
+  // Corpo -> contador do conteúdo -> [gzip] -> contador da rede -> descarte
+  private Resposta abrirResposta() throws IOException {
+    ContadorDeBytes rede = new ContadorDeBytes(OutputStream.nullOutputStream());
+    OutputStream codificada = "gzip".equals(codificacao) ? new GZIPOutputStream(rede, TAMANHO_BUFFER) : rede;
+    return new Resposta(new ContadorDeBytes(codificada), rede);
+  }
+
+  // O ObjectMapper fecha a saída ao terminar; fechar de novo é inofensivo e cobre o caso do CSV
+  private long fecharResposta(Resposta resposta, Bytes bytes) throws IOException {
+    resposta.corpo().close();
+    bytes.requisicoes++;
+    bytes.bytesSemCompressao += resposta.corpo().total;
+    bytes.bytesNaRede += resposta.rede().total;
+    return resposta.rede().total;
+  }
+
+  private record Resposta(ContadorDeBytes corpo, ContadorDeBytes rede) {
+  }
+
+  private static final class ContadorDeBytes extends FilterOutputStream {
+
+    private long total;
+
+    ContadorDeBytes(OutputStream destino) {
+      super(destino);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      total++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      total += len;
+    }
+  }
+}
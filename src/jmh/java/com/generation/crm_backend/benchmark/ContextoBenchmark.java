@@ -0,0 +1,155 @@
+package com.generation.crm_backend.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.generation.crm_backend.CrmBackendApplication;
+import com.generation.crm_backend.model.StatusOportunidade;
+
+// Sobe a aplicação com o perfil "bench" (H2 em memória) e popula a massa uma vez por trial.
+// Tamanhos padrão pequenos; para a massa grande: -p clientes=1000000 -p oportunidades=5000000
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public abstract class ContextoBenchmark {
+
+  private static final int TAMANHO_LOTE = 1000;
+  protected static final int QUANTIDADE_USUARIOS = 50;
+
+  @Param({ "10000" })
+  public int clientes;
+
+  @Param({ "100000" })
+  public int oportunidades;
+
+  protected ConfigurableApplicationContext contexto;
+
+  protected long primeiroClienteId;
+  protected long primeiroUsuarioId;
+
+  @Setup(Level.Trial)
+  public void iniciarContexto() {
+    // Argumento de linha de comando para sobrepor o spring.profiles.active=prod do application.properties
+    contexto = new SpringApplicationBuilder(CrmBackendApplication.class)
+        .run("--spring.profiles.active=" + perfis());
+
+    JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+    popularUsuarios(jdbc);
+    popularClientes(jdbc);
+    popularOportunidades(jdbc);
+    jdbc.execute("analyze");
+
+    primeiroClienteId = jdbc.queryForObject("select min(id) from tb_clientes", Long.class);
+    primeiroUsuarioId = jdbc.queryForObject("select min(id) from tb_usuarios", Long.class);
+    prepararBenchmark();
+  }
+
+  // Perfis ativos no contexto; benchmarks que comparam configurações acrescentam os seus ao "bench"
+  protected String perfis() {
+    return "bench";
+  }
+
+  // Ponto de extensão para cada benchmark guardar beans e ids depois da massa carregada
+  protected void prepararBenchmark() {
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrarContexto() {
+    contexto.close();
+  }
+
+  protected <T> T bean(Class<T> tipo) {
+    return contexto.getBean(tipo);
+  }
+
+  // Valores determinísticos para que execuções diferentes comparem a mesma massa
+  static String emailCliente(long i) {
+    return "cliente" + i + "@bench.local";
+  }
+
+  static String nomeCliente(long i) {
+    return "Cliente " + Long.toHexString(i * 2654435761L);
+  }
+
+  private void popularUsuarios(JdbcTemplate jdbc) {
+    List<Object[]> linhas = new ArrayList<>(QUANTIDADE_USUARIOS);
+    for (int i = 0; i < QUANTIDADE_USUARIOS; i++) {
+      linhas.add(new Object[] { "Usuário " + i, "usuario" + i + "@bench.local", "senha-bench", "Vendedor" });
+    }
+    jdbc.batchUpdate("insert into tb_usuarios (nome, email, senha, cargo) values (?, ?, ?, ?)", linhas);
+  }
+
+  private void popularClientes(JdbcTemplate jdbc) {
+    LocalDateTime agora = LocalDateTime.now();
+    List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+    for (long i = 0; i < clientes; i++) {
+      boolean fisica = i % 3 != 0;
+      String documento = String.format(fisica ? "%011d" : "%014d", i);
+      lote.add(new Object[] { nomeCliente(i), emailCliente(i), String.format("%011d", i),
+          fisica ? "FISICA" : "JURIDICA", fisica ? documento : null, fisica ? null : documento,
+          (float) (i % 11), agora, agora });
+      if (lote.size() == TAMANHO_LOTE) {
+        inserirClientes(jdbc, lote);
+      }
+    }
+    inserirClientes(jdbc, lote);
+  }
+
+  private void inserirClientes(JdbcTemplate jdbc, List<Object[]> lote) {
+    if (lote.isEmpty()) {
+      return;
+    }
+    jdbc.batchUpdate("insert into tb_clientes (nome, email, telefone, tipo_pessoa, cpf, cnpj, lead_score, "
+        + "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", lote);
+    lote.clear();
+  }
+
+  private void popularOportunidades(JdbcTemplate jdbc) {
+    long clienteInicial = jdbc.queryForObject("select min(id) from tb_clientes", Long.class);
+    long usuarioInicial = jdbc.queryForObject("select min(id) from tb_usuarios", Long.class);
+    StatusOportunidade[] status = StatusOportunidade.values();
+    LocalDate hoje = LocalDate.now();
+
+    List<Object[]> lote = new ArrayList<>(TAMANHO_LOTE);
+    for (long i = 0; i < oportunidades; i++) {
+      lote.add(new Object[] { "Proposta " + Long.toHexString(i * 40503L), (i % 100_000) / 10.0,
+          status[(int) (i % status.length)].name(), hoje.minusDays(i % 365),
+          usuarioInicial + i % QUANTIDADE_USUARIOS, clienteInicial + i % clientes });
+      if (lote.size() == TAMANHO_LOTE) {
+        inserirOportunidades(jdbc, lote);
+      }
+    }
+    inserirOportunidades(jdbc, lote);
+  }
+
+  private void inserirOportunidades(JdbcTemplate jdbc, List<Object[]> lote) {
+    if (lote.isEmpty()) {
+      return;
+    }
+    jdbc.batchUpdate("insert into tb_oportunidades (titulo, valor_estimado, status_oportunidade, data_criacao, "
+        + "usuario_id, cliente_id) values (?, ?, ?, ?, ?, ?)", lote);
+    lote.clear();
+  }
+}
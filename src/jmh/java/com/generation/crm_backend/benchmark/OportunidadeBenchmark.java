@@ -0,0 +1,98 @@
+package com.generation.crm_backend.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.model.Usuario;
+import com.generation.crm_backend.service.OportunidadeService;
+
+// Caminhos quentes do OportunidadeService: busca filtrada e paginada, cadastro e transições de status
+public class OportunidadeBenchmark extends ContextoBenchmark {
+
+  private static final int TAMANHO_PAGINA = 20;
+
+  // Oportunidades reservadas para as transições, cada uma percorrendo NOVA -> EM_NEGOCIACAO -> ARQUIVADA -> NOVA
+  private static final int OPORTUNIDADES_EM_TRANSICAO = 1000;
+
+  private static final StatusOportunidade[] CICLO_STATUS = { StatusOportunidade.EM_NEGOCIACAO,
+      StatusOportunidade.ARQUIVADA, StatusOportunidade.NOVA };
+
+  private OportunidadeService oportunidadeService;
+
+  private long primeiraOportunidadeId;
+  private int[] passoTransicao;
+  private int proximaTransicao;
+
+  @Override
+  protected void prepararBenchmark() {
+    oportunidadeService = bean(OportunidadeService.class);
+
+    JdbcTemplate jdbc = bean(JdbcTemplate.class);
+    primeiraOportunidadeId = jdbc.queryForObject("select min(id) from tb_oportunidades", Long.class);
+    jdbc.update("update tb_oportunidades set status_oportunidade = 'NOVA' where id < ?",
+        primeiraOportunidadeId + OPORTUNIDADES_EM_TRANSICAO);
+    passoTransicao = new int[OPORTUNIDADES_EM_TRANSICAO];
+  }
+
+  @Benchmark
+  public Object buscaPorStatusEPeriodo() {
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.EM_NEGOCIACAO, null, null, null,
+        null, LocalDate.now().minusDays(90), LocalDate.now(), null);
+    return oportunidadeService.buscar(filtro, 0, TAMANHO_PAGINA, "dataCriacao", "desc");
+  }
+
+  @Benchmark
+  public Object buscaPorCliente() {
+    long clienteId = primeiroClienteId + ThreadLocalRandom.current().nextInt(clientes);
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(null, clienteId, null, null, null, null, null, null);
+    return oportunidadeService.buscar(filtro, 0, TAMANHO_PAGINA, "id", "asc");
+  }
+
+  @Benchmark
+  public Object buscaPorTitulo() {
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(null, null, null, null, null, null, null, "a1");
+    return oportunidadeService.buscar(filtro, 0, TAMANHO_PAGINA, "id", "asc");
+  }
+
+  @Benchmark
+  public Object buscaResumo() {
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.NOVA, null, null,
+        BigDecimal.valueOf(1000), null, null, null, null);
+    return oportunidadeService.buscarResumo(filtro, 0, TAMANHO_PAGINA, "valorEstimado", "desc");
+  }
+
+  @Benchmark
+  public Object cadastro() {
+    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+
+    Cliente cliente = new Cliente();
+    cliente.setId(primeiroClienteId + aleatorio.nextInt(clientes));
+    Usuario usuario = new Usuario();
+    usuario.setId(primeiroUsuarioId + aleatorio.nextInt(QUANTIDADE_USUARIOS));
+
+    Oportunidade oportunidade = new Oportunidade();
+    oportunidade.setTitulo("Proposta de benchmark");
+    oportunidade.setValorEstimado(BigDecimal.valueOf(aleatorio.nextInt(100_000)));
+    oportunidade.setCliente(cliente);
+    oportunidade.setUsuario(usuario);
+    return oportunidadeService.save(oportunidade);
+  }
+
+  @Benchmark
+  public Object transicaoDeStatus() {
+    int indice = proximaTransicao;
+    proximaTransicao = (proximaTransicao + 1) % OPORTUNIDADES_EM_TRANSICAO;
+
+    StatusOportunidade novoStatus = CICLO_STATUS[passoTransicao[indice]];
+    passoTransicao[indice] = (passoTransicao[indice] + 1) % CICLO_STATUS.length;
+    return oportunidadeService.atualizarStatusOportunidade(primeiraOportunidadeId + indice, novoStatus);
+  }
+}
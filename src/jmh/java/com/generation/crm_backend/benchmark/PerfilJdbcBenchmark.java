@@ -0,0 +1,91 @@
+package com.generation.crm_backend.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.service.ClienteService;
+import com.generation.crm_backend.service.OportunidadeService;
+
+// Compara o perfil "desempenho" (batches de JDBC e batch fetching) com as configurações padrão do Hibernate.
+// Em H2 aparece o ganho dos batches; o cache de statements e o reWriteBatchedInserts só existem no PostgreSQL:
+// para medi-los, passe ao JMH -jvmArgsAppend com -Dspring.datasource.* de um banco descartável e as
+// data-source-properties do application-prod.properties.
+public class PerfilJdbcBenchmark extends ContextoBenchmark {
+
+  private static final int TAMANHO_PAGINA = 100;
+
+  // Oportunidades do cliente excluído a cada invocação: a cascata gera um DELETE por oportunidade
+  private static final int OPORTUNIDADES_POR_CLIENTE = 50;
+
+  @Param({ "padrao", "desempenho" })
+  public String perfilJdbc;
+
+  private ClienteService clienteService;
+  private OportunidadeService oportunidadeService;
+  private JdbcTemplate jdbc;
+
+  @Override
+  protected String perfis() {
+    return "desempenho".equals(perfilJdbc) ? "bench,desempenho" : "bench";
+  }
+
+  @Override
+  protected void prepararBenchmark() {
+    clienteService = bean(ClienteService.class);
+    oportunidadeService = bean(OportunidadeService.class);
+    jdbc = bean(JdbcTemplate.class);
+  }
+
+  // Escrita: DELETE /clientes/{id}, com a exclusão em cascata das oportunidades
+  @Benchmark
+  public void exclusaoDeClienteComOportunidades(ClienteParaExcluir cliente) {
+    clienteService.delete(cliente.id);
+  }
+
+  // Listagem: GET /oportunidades/busca com página cheia
+  @Benchmark
+  public Object buscaPaginada() {
+    OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.EM_NEGOCIACAO, null, null, null,
+        null, LocalDate.now().minusDays(180), LocalDate.now(), null);
+    return oportunidadeService.buscar(filtro, 0, TAMANHO_PAGINA, "dataCriacao", "desc");
+  }
+
+  // Fora da medição: um cliente novo com a sua carteira de oportunidades antes de cada exclusão
+  @State(Scope.Thread)
+  public static class ClienteParaExcluir {
+
+    long id;
+    private long sequencia;
+
+    @Setup(Level.Invocation)
+    public void criar(PerfilJdbcBenchmark contexto) {
+      JdbcTemplate jdbc = contexto.jdbc;
+      long numero = contexto.clientes + sequencia++;
+      LocalDateTime agora = LocalDateTime.now();
+      jdbc.update("insert into tb_clientes (nome, email, telefone, tipo_pessoa, cnpj, lead_score, created_at, "
+          + "updated_at) values (?, ?, ?, 'JURIDICA', ?, 0, ?, ?)", nomeCliente(numero), emailCliente(numero),
+          String.format("%011d", numero), String.format("%014d", numero), agora, agora);
+      id = jdbc.queryForObject("select max(id) from tb_clientes", Long.class);
+
+      List<Object[]> lote = new ArrayList<>(OPORTUNIDADES_POR_CLIENTE);
+      for (int i = 0; i < OPORTUNIDADES_POR_CLIENTE; i++) {
+        lote.add(new Object[] { "Proposta " + i, 1000.0, StatusOportunidade.NOVA.name(), LocalDate.now(),
+            contexto.primeiroUsuarioId + i % QUANTIDADE_USUARIOS, id });
+      }
+      jdbc.batchUpdate("insert into tb_oportunidades (titulo, valor_estimado, status_oportunidade, data_criacao, "
+          + "usuario_id, cliente_id) values (?, ?, ?, ?, ?, ?)", lote);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.generation.crm_backend.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+// Caches da aplicação (Caffeine, em memória). O cache de segundo nível do Hibernate fica à parte, em ehcache.xml.
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+  public static final String CLIENTES_POR_CPF = "clientesPorCpf";
+  public static final String CLIENTES_POR_CNPJ = "clientesPorCnpj";
+  public static final String CLIENTES_POR_EMAIL = "clientesPorEmail";
+  public static final String CLIENTES_POR_TELEFONE = "clientesPorTelefone";
+
+  private static final long TAMANHO_MAXIMO = 10_000;
+  private static final Duration VALIDADE = Duration.ofMinutes(10);
+
+  // Buscas sem resultado também são guardadas, mas por menos tempo, para um cadastro novo aparecer logo
+  private static final Duration VALIDADE_AUSENTE = Duration.ofMinutes(1);
+
+  @Bean
+  public CacheManager cacheManager() {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(Caffeine.newBuilder()
+        .maximumSize(TAMANHO_MAXIMO)
+        .expireAfter(new ValidadePorTipo())
+        .recordStats());
+    cacheManager.setAllowNullValues(true);
+    cacheManager.setCacheNames(List.of(CLIENTES_POR_CPF, CLIENTES_POR_CNPJ, CLIENTES_POR_EMAIL, CLIENTES_POR_TELEFONE));
+    return cacheManager;
+  }
+
+  // O Spring grava a ausência de valor como NullValue; ela expira antes dos valores encontrados
+  private static class ValidadePorTipo implements Expiry<Object, Object> {
+
+    @Override
+    public long expireAfterCreate(Object chave, Object valor, long agora) {
+      return (valor instanceof NullValue ? VALIDADE_AUSENTE : VALIDADE).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object chave, Object valor, long agora, long validadeAtual) {
+      return expireAfterCreate(chave, valor, agora);
+    }
+
+    @Override
+    public long expireAfterRead(Object chave, Object valor, long agora, long validadeAtual) {
+      return validadeAtual;
+    }
+  }
+}
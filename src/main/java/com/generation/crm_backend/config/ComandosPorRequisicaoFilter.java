@@ -0,0 +1,45 @@
+package com.generation.crm_backend.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Quantos comandos SQL cada requisição executou, por rota: média alta ou máximo crescendo apontam N+1
+public class ComandosPorRequisicaoFilter extends OncePerRequestFilter {
+
+  private final MetricasSqlListener listener;
+  private final MeterRegistry registry;
+
+  public ComandosPorRequisicaoFilter(MetricasSqlListener listener, MeterRegistry registry) {
+    this.listener = listener;
+    this.registry = registry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    listener.iniciarRequisicao();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      int comandos = listener.encerrarRequisicao();
+      // Padrão da rota (/clientes/{id}), não a URI, para não criar uma série por ID
+      Object rota = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      DistributionSummary.builder("crm.sql.requisicao.comandos")
+          .description("Comandos SQL executados por requisição HTTP")
+          .baseUnit("comandos")
+          .tag("method", request.getMethod())
+          .tag("uri", rota != null ? rota.toString() : "UNKNOWN")
+          .register(registry)
+          .record(comandos);
+    }
+  }
+}
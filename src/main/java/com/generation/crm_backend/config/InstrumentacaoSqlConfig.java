@@ -0,0 +1,67 @@
+package com.generation.crm_backend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Instrumentação de SQL opcional (crm.sql.instrumentacao.enabled): o DataSource passa por um proxy que mede cada
+// comando, conta os comandos de cada requisição e registra as consultas lentas. Desligada, nada disso é criado.
+@Configuration
+@ConditionalOnProperty(name = "crm.sql.instrumentacao.enabled", havingValue = "true")
+public class InstrumentacaoSqlConfig {
+
+  @Bean
+  public MetricasSqlListener metricasSqlListener(MeterRegistry registry,
+      @Value("${crm.sql.lenta-ms:200}") long limiteLentaMs,
+      @Value("${crm.sql.log-parametros:false}") boolean logarValores) {
+    return new MetricasSqlListener(registry, limiteLentaMs, logarValores);
+  }
+
+  @Bean
+  public ComandosPorRequisicaoFilter comandosPorRequisicaoFilter(MetricasSqlListener listener,
+      MeterRegistry registry) {
+    return new ComandosPorRequisicaoFilter(listener, registry);
+  }
+
+  // static porque BeanPostProcessors sobem antes dos outros beans; o listener só é resolvido quando o DataSource
+  // é criado. Roda por último para que o binder de métricas do Hikari ainda veja o pool original.
+  @Bean
+  public static BeanPostProcessor proxyDoDataSource(ObjectProvider<MetricasSqlListener> listener) {
+    return new ProxyDoDataSource(listener);
+  }
+
+  private static class ProxyDoDataSource implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<MetricasSqlListener> listener;
+
+    ProxyDoDataSource(ObjectProvider<MetricasSqlListener> listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nome) {
+      if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name(nome)
+            .listener(listener.getObject())
+            .build();
+      }
+      return bean;
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.LOWEST_PRECEDENCE;
+    }
+  }
+}
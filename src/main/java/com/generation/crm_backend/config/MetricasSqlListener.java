@@ -0,0 +1,135 @@
+package com.generation.crm_backend.config;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+// Recebe cada execução de JDBC do proxy do DataSource: tempo por tipo de comando, contagem da requisição corrente e
+// log estruturado (chave=valor) das execuções acima do limite. Dos parâmetros ligados ao statement vão para o log só
+// o tipo e o tamanho; os valores (e-mails, CPFs, telefones) apenas com crm.sql.log-parametros, para depuração local
+public class MetricasSqlListener implements QueryExecutionListener {
+
+  private static final Logger log = LoggerFactory.getLogger(MetricasSqlListener.class);
+
+  // Valores longos (textos, CSVs) são cortados no log
+  private static final int TAMANHO_MAXIMO_PARAMETRO = 100;
+
+  private final MeterRegistry registry;
+  private final long limiteLentaMs;
+  private final boolean logarValores;
+
+  // Comandos executados pela requisição em andamento nesta thread; nulo fora de requisições HTTP
+  private final ThreadLocal<int[]> comandosDaRequisicao = new ThreadLocal<>();
+
+  public MetricasSqlListener(MeterRegistry registry, long limiteLentaMs, boolean logarValores) {
+    this.registry = registry;
+    this.limiteLentaMs = limiteLentaMs;
+    this.logarValores = logarValores;
+  }
+
+  void iniciarRequisicao() {
+    comandosDaRequisicao.set(new int[1]);
+  }
+
+  int encerrarRequisicao() {
+    int[] comandos = comandosDaRequisicao.get();
+    comandosDaRequisicao.remove();
+    return comandos != null ? comandos[0] : 0;
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+    // Uma ida ao banco por execução, mesmo quando é um batch com vários comandos
+    int[] comandos = comandosDaRequisicao.get();
+    if (comandos != null) {
+      comandos[0]++;
+    }
+
+    String tipo = consultas.isEmpty() ? "other"
+        : QueryUtils.getQueryType(consultas.get(0).getQuery()).name().toLowerCase();
+    Timer.builder("crm.sql.execucao")
+        .description("Tempo das execuções de JDBC por tipo de comando")
+        .tag("tipo", tipo)
+        .tag("lote", String.valueOf(execucao.isBatch()))
+        .tag("sucesso", String.valueOf(execucao.isSuccess()))
+        .register(registry)
+        .record(execucao.getElapsedTime(), TimeUnit.MILLISECONDS);
+
+    if (execucao.getElapsedTime() >= limiteLentaMs) {
+      Counter.builder("crm.sql.lentas")
+          .description("Execuções de JDBC acima de crm.sql.lenta-ms")
+          .tag("tipo", tipo)
+          .register(registry)
+          .increment();
+      for (QueryInfo consulta : consultas) {
+        log.warn("consulta_lenta duracao_ms={} tipo={} lote={} conexao={} sql=\"{}\" parametros={}",
+            execucao.getElapsedTime(), tipo, execucao.getBatchSize(), execucao.getConnectionId(),
+            consulta.getQuery(), parametros(consulta));
+      }
+    }
+  }
+
+  // Um grupo [..] por conjunto de parâmetros (um por item do batch), na ordem dos placeholders
+  private String parametros(QueryInfo consulta) {
+    return consulta.getParametersList().stream()
+        .map(conjunto -> conjunto.stream()
+            .sorted(Comparator.comparingInt(MetricasSqlListener::posicao))
+            .map(operacao -> logarValores ? valor(operacao) : tipo(operacao))
+            .collect(Collectors.joining(", ", "[", "]")))
+        .collect(Collectors.joining(","));
+  }
+
+  private static int posicao(ParameterSetOperation operacao) {
+    return operacao.getArgs()[0] instanceof Integer posicao ? posicao : Integer.MAX_VALUE;
+  }
+
+  private static Object argumento(ParameterSetOperation operacao) {
+    Object[] argumentos = operacao.getArgs();
+    if ("setNull".equals(operacao.getMethod().getName()) || argumentos.length < 2) {
+      return null;
+    }
+    return argumentos[1];
+  }
+
+  // String(14), byte[](2048), Long...
+  private static String tipo(ParameterSetOperation operacao) {
+    Object argumento = argumento(operacao);
+    if (argumento == null) {
+      return "null";
+    }
+    String tipo = argumento.getClass().getSimpleName();
+    if (argumento instanceof CharSequence texto) {
+      return tipo + "(" + texto.length() + ")";
+    }
+    if (argumento instanceof byte[] bytes) {
+      return tipo + "(" + bytes.length + ")";
+    }
+    return tipo;
+  }
+
+  private static String valor(ParameterSetOperation operacao) {
+    Object argumento = argumento(operacao);
+    if (argumento == null) {
+      return "null";
+    }
+    String valor = String.valueOf(argumento);
+    return valor.length() > TAMANHO_MAXIMO_PARAMETRO ? valor.substring(0, TAMANHO_MAXIMO_PARAMETRO) + "..." : valor;
+  }
+}
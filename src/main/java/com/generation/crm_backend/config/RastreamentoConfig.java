@@ -0,0 +1,82 @@
+package com.generation.crm_backend.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+// Spans por camada: a requisição HTTP e os services (@Observed) já geram observações; aqui entram as chamadas de
+// repositório e a exportação para o log. O exportador OTLP é criado pelo Spring Boot quando o endpoint é configurado.
+@Configuration
+public class RastreamentoConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "crm.tracing.log.enabled", havingValue = "true")
+  public SpanExporter exportadorDeSpansNoLog() {
+    return LoggingSpanExporter.create();
+  }
+
+  @Bean
+  public TraceIdFilter traceIdFilter(ObjectProvider<Tracer> tracer) {
+    return new TraceIdFilter(tracer);
+  }
+
+  // Mesmo gancho que o Spring Boot usa nas métricas de repositório: cada proxy de repositório ganha um interceptor
+  // que abre a observação "crm.repositorio" (span ClienteRepository.findById, por exemplo). Só com o tracing ligado:
+  // sem ele cada chamada de repositório pagaria a observação à toa
+  @Bean
+  @ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true")
+  public static BeanPostProcessor observacaoDosRepositorios(ObjectProvider<ObservationRegistry> registry) {
+    return new BeanPostProcessor() {
+
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String nome) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+          fabrica.addRepositoryFactoryCustomizer(repositorios -> repositorios.addRepositoryProxyPostProcessor(
+              (proxy, informacoes) -> proxy.addAdvice(new ObservacaoDoRepositorio(registry,
+                  informacoes.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+      }
+    };
+  }
+
+  private static class ObservacaoDoRepositorio implements MethodInterceptor {
+
+    private final ObjectProvider<ObservationRegistry> registry;
+    private final String repositorio;
+
+    // Resolvido na primeira chamada: os repositórios são criados antes do registro de observações
+    private volatile ObservationRegistry registroResolvido;
+
+    ObservacaoDoRepositorio(ObjectProvider<ObservationRegistry> registry, String repositorio) {
+      this.registry = registry;
+      this.repositorio = repositorio;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocacao) throws Throwable {
+      ObservationRegistry registro = registroResolvido;
+      if (registro == null) {
+        registro = registry.getIfAvailable(() -> ObservationRegistry.NOOP);
+        registroResolvido = registro;
+      }
+      String metodo = invocacao.getMethod().getName();
+      return Observation.createNotStarted("crm.repositorio", registro)
+          .contextualName(repositorio + "." + metodo)
+          .lowCardinalityKeyValue("repository", repositorio)
+          .lowCardinalityKeyValue("method", metodo)
+          .observeChecked(invocacao::proceed);
+    }
+  }
+}
@@ -50,17 +50,18 @@ public class SwaggerConfig {
   @Bean
   OpenApiCustomizer customerGlobalHeaderOpenApiCustomiser() {
     return openApi -> {
+      // Respostas padrão só onde o endpoint não declarou a sua: substituir apagaria o esquema do corpo
       openApi.getPaths().values().forEach(pathItem -> pathItem.readOperations().forEach(operation -> {
         ApiResponses apiResponses = operation.getResponses();
-        apiResponses.addApiResponse("200", createApiResponse("Sucesso!"));
-        apiResponses.addApiResponse("201", createApiResponse("Objeto Criado/Persistido!"));
-        apiResponses.addApiResponse("204",
+        apiResponses.putIfAbsent("200", createApiResponse("Sucesso!"));
+        apiResponses.putIfAbsent("201", createApiResponse("Objeto Criado/Persistido!"));
+        apiResponses.putIfAbsent("204",
             createApiResponse("Operação bem-sucedida, sem conteúdo de retorno (Ex: Objeto Excluído)."));
-        apiResponses.addApiResponse("400", createApiResponse("Erro na Requisição (Ex: Dados inválidos)."));
-        apiResponses.addApiResponse("401", createApiResponse("Acesso Não Autorizado (Requer autenticação)."));
-        apiResponses.addApiResponse("403", createApiResponse("Acesso Proibido (Autenticado, mas sem permissão)."));
-        apiResponses.addApiResponse("404", createApiResponse("Recurso Não Encontrado."));
-        apiResponses.addApiResponse("500", createApiResponse("Erro Interno na Aplicação."));
+        apiResponses.putIfAbsent("400", createApiResponse("Erro na Requisição (Ex: Dados inválidos)."));
+        apiResponses.putIfAbsent("401", createApiResponse("Acesso Não Autorizado (Requer autenticação)."));
+        apiResponses.putIfAbsent("403", createApiResponse("Acesso Proibido (Autenticado, mas sem permissão)."));
+        apiResponses.putIfAbsent("404", createApiResponse("Recurso Não Encontrado."));
+        apiResponses.putIfAbsent("500", createApiResponse("Erro Interno na Aplicação."));
       }));
     };
   }
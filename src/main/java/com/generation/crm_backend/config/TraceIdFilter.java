@@ -0,0 +1,37 @@
+package com.generation.crm_backend.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Devolve o trace ID da requisição para que o cliente (ou o suporte) encontre o trace no coletor.
+// Roda depois do filtro de observação HTTP, que abre o span da requisição.
+public class TraceIdFilter extends OncePerRequestFilter {
+
+  public static final String CABECALHO = "X-Trace-Id";
+
+  private final ObjectProvider<Tracer> tracer;
+
+  public TraceIdFilter(ObjectProvider<Tracer> tracer) {
+    this.tracer = tracer;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    Tracer atual = tracer.getIfAvailable();
+    Span span = atual != null ? atual.currentSpan() : null;
+    if (span != null && !span.isNoop()) {
+      response.setHeader(CABECALHO, span.context().traceId());
+    }
+    chain.doFilter(request, response);
+  }
+}
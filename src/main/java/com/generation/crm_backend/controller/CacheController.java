@@ -0,0 +1,50 @@
+package com.generation.crm_backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.generation.crm_backend.dto.CacheAplicacaoEstatisticas;
+import com.generation.crm_backend.dto.CacheRegiaoEstatisticas;
+import com.generation.crm_backend.service.CacheEstatisticasService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/cache")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Cache", description = "Estatísticas dos caches da aplicação")
+public class CacheController {
+
+  @Autowired
+  private CacheEstatisticasService cacheEstatisticasService;
+
+  @Operation(summary = "Estatísticas do cache de segundo nível", description = "Acertos, falhas e inserções de cada região do cache do Hibernate (entidades Cliente e Usuario e consulta de usuário por e-mail).")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CacheRegiaoEstatisticas.class))))
+  })
+  @GetMapping("/estatisticas")
+  public ResponseEntity<List<CacheRegiaoEstatisticas>> getEstatisticas() {
+    return ResponseEntity.ok(cacheEstatisticasService.getEstatisticasSegundoNivel());
+  }
+
+  @Operation(summary = "Estatísticas dos caches da aplicação", description = "Acertos, falhas, taxa de acerto e despejos dos caches de busca de clientes por CPF, CNPJ, e-mail e telefone.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CacheAplicacaoEstatisticas.class))))
+  })
+  @GetMapping("/estatisticas/aplicacao")
+  public ResponseEntity<List<CacheAplicacaoEstatisticas>> getEstatisticasAplicacao() {
+    return ResponseEntity.ok(cacheEstatisticasService.getEstatisticasAplicacao());
+  }
+}
@@ -11,13 +11,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.generation.crm_backend.controller.EsquemasDeResposta.JanelaDeClientes;
+import com.generation.crm_backend.controller.EsquemasDeResposta.PaginaDeClientes;
+import com.generation.crm_backend.controller.EsquemasDeResposta.PaginaDeClientesResumo;
 import com.generation.crm_backend.dto.ClienteRequestDTO;
+import com.generation.crm_backend.dto.ImportacaoClientesRelatorio;
 import com.generation.crm_backend.model.Cliente;
 import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.service.ClienteImportacaoService;
 import com.generation.crm_backend.service.ClienteService;
-import com.opencsv.CSVWriter;
-import com.opencsv.bean.StatefulBeanToCsv;
-import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import com.opencsv.exceptions.CsvDataTypeMismatchException;
 import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
 
@@ -29,6 +31,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
@@ -37,12 +40,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.List;
 
 
 @RestController
@@ -54,13 +58,17 @@ public class ClienteController {
   @Autowired
   private ClienteService clienteService;
 
+  @Autowired
+  private ClienteImportacaoService clienteImportacaoService;
+
   @Operation(summary = "Listar todos os clientes com paginação", description = "Retorna uma lista paginada de todos os clientes registados. Permite especificar a página, tamanho da página e critérios de ordenação.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Lista paginada de clientes recuperada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Lista paginada de clientes recuperada com sucesso: página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
 
   @GetMapping
-  public ResponseEntity<Page<Cliente>> getAll(
+  public ResponseEntity<Object> getAll(
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
 
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
@@ -69,15 +77,46 @@ public class ClienteController {
 
       @Parameter(description = "Direção da ordenação ('asc' para ascendente, 'desc' para descendente)", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+    }
+
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllResumo(numeroPagina, tamanhoPagina, campoOrdenacao,
+          direcaoOrdenacao));
+    }
 
     Page<Cliente> paginaDeClientes = clienteService.getAll(numeroPagina, tamanhoPagina, campoOrdenacao,
         direcaoOrdenacao);
     return ResponseEntity.ok(paginaDeClientes);
   }
-  
+
+  @Operation(summary = "Listar todos os clientes em NDJSON", description = "Com Accept: application/x-ndjson, retorna todos os clientes em ordem de id, um objeto JSON por linha. Os clientes são lidos do banco por cursor e escritos à medida que chegam: o tempo até o primeiro byte e o uso de memória não crescem com a quantidade de clientes, e o consumidor pode processar linha a linha.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Clientes em NDJSON", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Cliente.class)))
+  })
+  @GetMapping(produces = "application/x-ndjson")
+  public void getAllNdjson(
+      @Parameter(description = "Visão dos itens: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao,
+      HttpServletResponse response) throws IOException {
+    response.setContentType("application/x-ndjson");
+    clienteService.escreverNdjson(response.getOutputStream(), "summary".equalsIgnoreCase(visao));
+  }
+
+  @Operation(summary = "Exportar clientes em CSV", description = "Gera um arquivo CSV com todos os clientes. No modo 'streaming' (padrão) os clientes são lidos em lotes e escritos diretamente na resposta, com uso de memória constante. O modo 'memoria' carrega todos os clientes antes de escrever e é mantido apenas para comparação. Para bases grandes ou com filtros, use a exportação assíncrona em /exportacoes.")
   @GetMapping("/exportar-csv") // Um path mais claro para exportação
-  public void exportarClientesCSV(HttpServletResponse response) throws IOException {
+  public void exportarClientesCSV(
+      @Parameter(description = "Modo de exportação ('streaming' ou 'memoria')", example = "streaming", name = "modo", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "streaming",
+          "memoria" })) @RequestParam(value = "modo", defaultValue = "streaming") String modo,
+      HttpServletResponse response) throws IOException {
       String fileName = "clientes-data.csv";
 
       // Configura o cabeçalho da resposta HTTP para indicar um arquivo CSV
@@ -85,18 +124,12 @@ public class ClienteController {
       response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\""); // Fechar aspas duplas
 
       try {
-          // Cria o escritor de CSV
-          // O tipo genérico aqui (Cliente) deve corresponder ao tipo dos objetos na lista
-          StatefulBeanToCsv<Cliente> writer = new StatefulBeanToCsvBuilder<Cliente>(response.getWriter())
-                  .withSeparator(CSVWriter.DEFAULT_SEPARATOR) // Usa a vírgula como separador padrão
-                  .withOrderedResults(true) // Garante que a ordem das colunas seja a mesma dos campos do bean
-                  .build();
-
-          // Pega a lista de clientes do seu serviço
-          List<Cliente> clientes = clienteService.getAllWithoutPagination();
-
-          // Escreve os dados no CSV
-          writer.write(clientes);
+          // Escreve os clientes direto na resposta; o serviço registra linhas/s e pico de heap no log
+          if ("memoria".equalsIgnoreCase(modo)) {
+              clienteService.exportarCsvEmMemoria(response.getWriter());
+          } else {
+              clienteService.exportarCsv(response.getWriter());
+          }
 
       } catch (CsvDataTypeMismatchException e) {
           // Lidar com exceções de tipo de dado incompatível (ex: se um campo não puder ser mapeado)
@@ -118,7 +151,7 @@ public class ClienteController {
 	Optional<Cliente> cliente = clienteService.getById(id);
 
 	if (cliente.isPresent()) {		
-		return ResponseEntity.ok(cliente.get());
+		return ResponseEntity.ok().eTag(VersaoEtag.de(cliente.get().getVersao())).body(cliente.get());
 	} else {
 		return ResponseEntity.notFound().build();
 	}
@@ -126,17 +159,30 @@ public class ClienteController {
 
   @Operation(summary = "Procurar clientes por nome com paginação e ordenação", description = "Retorna uma página de clientes cujo nome contenha o termo pesquisado (case-insensitive), com opções de paginação e ordenação.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Procura por nome realizada com sucesso (pode retornar página vazia)", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Procura por nome realizada com sucesso (pode retornar página vazia): página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
   @GetMapping("/nome/{nome}")
-  public ResponseEntity<Page<Cliente>> getAllByNome(
+  public ResponseEntity<Object> getAllByNome(
       @Parameter(description = "Termo para procurar no nome dos clientes", required = true, example = "Silva") @PathVariable String nome,
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
       @Parameter(description = "Campo para ordenação (ex: 'nome', 'id')", example = "nome", name = "ordenarPor", in = ParameterIn.QUERY) @RequestParam(value = "ordenarPor", defaultValue = "nome") String campoOrdenacao,
       @Parameter(description = "Direção da ordenação ('asc' para ascendente, 'desc' para descendente)", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllByNomeJanela(nome, cursor, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
+
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllByNomeResumo(nome, numeroPagina, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
 
     Page<Cliente> clientesPaginados = clienteService.getAllByNome(nome, numeroPagina, tamanhoPagina,
         campoOrdenacao, direcaoOrdenacao);
@@ -167,17 +213,29 @@ public class ClienteController {
 
   @Operation(summary = "Procurar clientes por tipo de pessoa com paginação", description = "Retorna uma página de clientes filtrados por tipo (FISICA ou JURIDICA).")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Procura por tipo de pessoa realizada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Procura por tipo de pessoa realizada com sucesso: página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
   @GetMapping("/tipoPessoa/{tipoPessoa}")
-  public ResponseEntity<Page<Cliente>> getAllByTipoPessoa(
+  public ResponseEntity<Object> getAllByTipoPessoa(
       @Parameter(description = "Tipo de pessoa para filtrar os clientes", required = true, example = "FISICA", schema = @Schema(implementation = TipoPessoa.class)) @PathVariable TipoPessoa tipoPessoa,
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
       @Parameter(description = "Campo para ordenação", example = "nome", name = "ordenarPor", in = ParameterIn.QUERY) @RequestParam(value = "ordenarPor", defaultValue = "nome") String campoOrdenacao,
       @Parameter(description = "Direção da ordenação ('asc', 'desc')", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllByTipoPessoaJanela(tipoPessoa, cursor, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllByTipoPessoaResumo(tipoPessoa, numeroPagina,
+          tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+    }
     Page<Cliente> clientesPaginados = clienteService.getAllByTipoPessoa(tipoPessoa, numeroPagina,
         tamanhoPagina, campoOrdenacao, direcaoOrdenacao);
     return ResponseEntity.ok(clientesPaginados);
@@ -191,8 +249,7 @@ public class ClienteController {
   @GetMapping("/cnpj")
   public ResponseEntity<Cliente> getByCnpj(
       @Parameter(description = "CNPJ do cliente a ser procurado (com ou sem máscara)", required = true, example = "12.345.678/0001-99", name = "cnpj", in = ParameterIn.QUERY) @RequestParam String cnpj) {
-    String cnpjLimpo = cnpj.replaceAll("[^0-9]", "");
-    return ResponseEntity.ok(clienteService.getByCnpj(cnpjLimpo));
+    return ResponseEntity.ok(clienteService.getByCnpj(cnpj));
   }
 
   @Operation(summary = "Procurar cliente por CPF", description = "Retorna um cliente específico baseado no seu CPF (após normalização para apenas números). O CPF é único.")
@@ -203,23 +260,34 @@ public class ClienteController {
   @GetMapping("/cpf/{cpf}")
   public ResponseEntity<Cliente> getByCpf(
       @Parameter(description = "CPF do cliente a ser procurado (com ou sem máscara)", required = true, example = "123.456.789-00") @PathVariable String cpf) {
-    String cpfLimpo = cpf.replaceAll("[^0-9]", "");
-    return ResponseEntity.ok(clienteService.getByCpf(cpfLimpo));
+    return ResponseEntity.ok(clienteService.getByCpf(cpf));
   }
 
   @Operation(summary = "Procurar clientes por Lead Score exato com paginação", description = "Retorna uma página de clientes com um Lead Score específico.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Procura por Lead Score realizada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Procura por Lead Score realizada com sucesso: página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
   @GetMapping("/leadScore/{leadScore}")
-  public ResponseEntity<Page<Cliente>> getAllByLeadScore(
+  public ResponseEntity<Object> getAllByLeadScore(
       @Parameter(description = "Valor do Lead Score para procurar", required = true, example = "7.5") @PathVariable Float leadScore,
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
       @Parameter(description = "Campo para ordenação", example = "id", name = "ordenarPor", in = ParameterIn.QUERY) @RequestParam(value = "ordenarPor", defaultValue = "id") String campoOrdenacao,
       @Parameter(description = "Direção da ordenação ('asc', 'desc')", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreJanela(leadScore, cursor, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreResumo(leadScore, numeroPagina,
+          tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+    }
     Page<Cliente> clientesPaginados = clienteService.getAllByLeadScore(leadScore, numeroPagina,
         tamanhoPagina, campoOrdenacao, direcaoOrdenacao);
     return ResponseEntity.ok(clientesPaginados);
@@ -227,17 +295,29 @@ public class ClienteController {
 
   @Operation(summary = "Procurar clientes por Lead Score maior ou igual com paginação", description = "Retorna uma página de clientes com Lead Score maior ou igual ao valor fornecido.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Procura realizada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Procura realizada com sucesso: página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
   @GetMapping("/leadScore/maior/{leadScore}")
-  public ResponseEntity<Page<Cliente>> getAllByLeadScoreGreaterThanEqual(
+  public ResponseEntity<Object> getAllByLeadScoreGreaterThanEqual(
       @Parameter(description = "Valor mínimo do Lead Score (inclusivo)", required = true, example = "5.0") @PathVariable Float leadScore,
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
       @Parameter(description = "Campo para ordenação", example = "leadScore", name = "ordenarPor", in = ParameterIn.QUERY) @RequestParam(value = "ordenarPor", defaultValue = "leadScore") String campoOrdenacao,
       @Parameter(description = "Direção da ordenação ('asc', 'desc')", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreGreaterThanEqualJanela(leadScore, cursor, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreGreaterThanEqualResumo(leadScore,
+          numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+    }
     Page<Cliente> clientesPaginados = clienteService.getAllByLeadScoreGreaterThanEqual(leadScore,
         numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao);
     return ResponseEntity.ok(clientesPaginados);
@@ -245,17 +325,29 @@ public class ClienteController {
 
   @Operation(summary = "Procurar clientes por Lead Score menor ou igual com paginação", description = "Retorna uma página de clientes com Lead Score menor ou igual ao valor fornecido.")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Procura realizada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class)))
+      @ApiResponse(responseCode = "200", description = "Procura realizada com sucesso: página completa (padrão), página resumida (view=summary) ou janela por cursor (after)", content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeClientes.class, PaginaDeClientesResumo.class, JanelaDeClientes.class })))
   })
   @GetMapping("/leadScore/menor/{leadScore}")
-  public ResponseEntity<Page<Cliente>> getAllByLeadScoreLessThanEqual(
+  public ResponseEntity<Object> getAllByLeadScoreLessThanEqual(
       @Parameter(description = "Valor máximo do Lead Score (inclusivo)", required = true, example = "8.0") @PathVariable Float leadScore,
+      @Parameter(description = "Cursor opaco da paginação por keyset (retornado em 'proximoCursor'). Quando presente, mesmo vazio para a primeira janela, ignora 'pagina' e retorna uma janela sem contagem total.", name = "after", in = ParameterIn.QUERY) @RequestParam(value = "after", required = false) String cursor,
       @Parameter(description = "Número da página (começa em 0)", example = "0", name = "pagina", in = ParameterIn.QUERY) @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
       @Parameter(description = "Tamanho da página", example = "10", name = "tamanho", in = ParameterIn.QUERY) @RequestParam(value = "tamanho", defaultValue = "10") int tamanhoPagina,
       @Parameter(description = "Campo para ordenação", example = "leadScore", name = "ordenarPor", in = ParameterIn.QUERY) @RequestParam(value = "ordenarPor", defaultValue = "leadScore") String campoOrdenacao,
       @Parameter(description = "Direção da ordenação ('asc', 'desc')", example = "asc", name = "direcao", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
           "asc",
-          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao) {
+          "desc" })) @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+      @Parameter(description = "Visão dos itens na paginação por página: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary", name = "view", in = ParameterIn.QUERY, schema = @Schema(allowableValues = {
+          "full",
+          "summary" })) @RequestParam(value = "view", defaultValue = "full") String visao) {
+    if (cursor != null) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreLessThanEqualJanela(leadScore, cursor, tamanhoPagina,
+          campoOrdenacao, direcaoOrdenacao));
+    }
+    if ("summary".equalsIgnoreCase(visao)) {
+      return ResponseEntity.ok(clienteService.getAllByLeadScoreLessThanEqualResumo(leadScore,
+          numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+    }
     Page<Cliente> clientesPaginados = clienteService.getAllByLeadScoreLessThanEqual(leadScore, numeroPagina,
         tamanhoPagina, campoOrdenacao, direcaoOrdenacao);
     return ResponseEntity.ok(clientesPaginados);
@@ -279,17 +371,42 @@ public class ClienteController {
     return ResponseEntity.created(location).body(clienteCriado);
   }
 
-  @Operation(summary = "Atualizar um cliente existente", description = "Atualiza os dados de um cliente existente identificado pelo seu ID. Retorna o cliente atualizado.")
+  @Operation(summary = "Atualizar um cliente existente", description = "Atualiza os dados de um cliente existente identificado pelo seu ID. Retorna o cliente atualizado. Com If-Match (ETag do GET), a alteração só é aplicada se o cliente não tiver sido modificado desde a leitura.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Cliente atualizado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Cliente.class))),
       @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos na requisição"),
-      @ApiResponse(responseCode = "404", description = "Cliente não encontrado com o ID fornecido")
+      @ApiResponse(responseCode = "404", description = "Cliente não encontrado com o ID fornecido"),
+      @ApiResponse(responseCode = "409", description = "O cliente foi alterado por outra requisição durante a atualização"),
+      @ApiResponse(responseCode = "412", description = "O If-Match não corresponde à versão atual")
   })
   @PutMapping("/{id}")
   public ResponseEntity<Cliente> put(
       @Parameter(description = "ID do cliente a ser atualizado", required = true, example = "1") @PathVariable Long id,
+      @Parameter(description = "ETag retornado pelo GET do cliente") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados do cliente para atualização", required = true, content = @Content(schema = @Schema(implementation = ClienteRequestDTO.class))) @Valid @RequestBody ClienteRequestDTO clienteRequestDTO) {
-    return ResponseEntity.ok(clienteService.update(id, clienteRequestDTO));
+    Cliente atualizado = clienteService.update(id, clienteRequestDTO, VersaoEtag.versaoEsperada(ifMatch));
+    return ResponseEntity.ok().eTag(VersaoEtag.de(atualizado.getVersao())).body(atualizado);
+  }
+
+  @Operation(summary = "Importar clientes de um CSV", description = "Importa clientes em lote a partir de um CSV com o mesmo cabeçalho da exportação. Cada linha é validada como no cadastro; linhas inválidas ou duplicadas são rejeitadas sem interromper a importação.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Importação concluída; o relatório traz o resultado de cada linha", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacaoClientesRelatorio.class))),
+      @ApiResponse(responseCode = "400", description = "Cabeçalho do CSV inválido")
+  })
+  @PostMapping(value = "/importar", consumes = "text/csv")
+  public ResponseEntity<ImportacaoClientesRelatorio> importarCsv(HttpServletRequest request) throws IOException {
+    return ResponseEntity.ok(clienteImportacaoService.importarCsv(
+        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
+  }
+
+  @Operation(summary = "Importar clientes de um NDJSON", description = "Importa clientes em lote a partir de um arquivo com um objeto JSON (mesmo formato do cadastro) por linha.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Importação concluída; o relatório traz o resultado de cada linha", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacaoClientesRelatorio.class)))
+  })
+  @PostMapping(value = "/importar", consumes = "application/x-ndjson")
+  public ResponseEntity<ImportacaoClientesRelatorio> importarNdjson(HttpServletRequest request) throws IOException {
+    return ResponseEntity.ok(clienteImportacaoService.importarNdjson(
+        new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)));
   }
 
   @Operation(summary = "Excluir um cliente", description = "Remove um cliente do sistema baseado no seu ID.")
@@ -0,0 +1,56 @@
+package com.generation.crm_backend.controller;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+
+import com.generation.crm_backend.dto.ClienteResumo;
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Oportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+// Tipos só da documentação OpenAPI. Os endpoints que mudam de formato conforme 'view' e 'after' retornam
+// ResponseEntity<Object>, e Page ou JanelaDTO sem argumento de tipo não dizem ao springdoc o que vem nos itens
+final class EsquemasDeResposta {
+
+	private EsquemasDeResposta() {
+	}
+
+	@Schema(name = "PaginaDeClientes", description = "Página de clientes completos (view=full).")
+	static final class PaginaDeClientes extends PageImpl<Cliente> {
+
+		private PaginaDeClientes() {
+			super(List.of());
+		}
+	}
+
+	@Schema(name = "PaginaDeClientesResumo", description = "Página de clientes na visão resumida (view=summary).")
+	static final class PaginaDeClientesResumo extends PageImpl<ClienteResumo> {
+
+		private PaginaDeClientesResumo() {
+			super(List.of());
+		}
+	}
+
+	@Schema(name = "JanelaDeClientes", description = "Janela de clientes paginada por cursor (parâmetro 'after'), sem contagem total.")
+	record JanelaDeClientes(List<Cliente> conteudo, int tamanho, boolean temProxima, String proximoCursor) {
+	}
+
+	@Schema(name = "PaginaDeOportunidades", description = "Página de oportunidades completas (view=full).")
+	static final class PaginaDeOportunidades extends PageImpl<Oportunidade> {
+
+		private PaginaDeOportunidades() {
+			super(List.of());
+		}
+	}
+
+	@Schema(name = "PaginaDeOportunidadesResumo", description = "Página de oportunidades na visão resumida (view=summary).")
+	static final class PaginaDeOportunidadesResumo extends PageImpl<OportunidadeResumo> {
+
+		private PaginaDeOportunidadesResumo() {
+			super(List.of());
+		}
+	}
+}
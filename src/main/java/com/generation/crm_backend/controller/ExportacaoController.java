@@ -0,0 +1,144 @@
+package com.generation.crm_backend.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.generation.crm_backend.dto.ArquivoExportacao;
+import com.generation.crm_backend.dto.ExportacaoPedidoDTO;
+import com.generation.crm_backend.model.Exportacao;
+import com.generation.crm_backend.service.ExportacaoService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/exportacoes")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Exportações", description = "Exportações assíncronas de clientes e oportunidades em arquivo")
+public class ExportacaoController {
+
+	// Atributos do conector do Tomcat para enviar um arquivo com sendfile, sem passar os bytes pela JVM
+	private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+	private static final String SENDFILE_ARQUIVO = "org.apache.tomcat.sendfile.filename";
+	private static final String SENDFILE_INICIO = "org.apache.tomcat.sendfile.start";
+	private static final String SENDFILE_FIM = "org.apache.tomcat.sendfile.end";
+
+	@Autowired
+	private ExportacaoService exportacaoService;
+
+	@Operation(summary = "Solicitar exportação", description = "Cria um job de exportação e retorna imediatamente (202) com o endereço para acompanhar a situação. O arquivo é gerado em segundo plano e, se a aplicação reiniciar no meio, a geração continua do último lote gravado.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "202", description = "Exportação aceita"),
+			@ApiResponse(responseCode = "400", description = "Entidade ausente ou filtro que não se aplica à entidade")
+	})
+	@PostMapping
+	public ResponseEntity<Exportacao> solicitar(@Valid @RequestBody ExportacaoPedidoDTO pedido) {
+		Exportacao exportacao = exportacaoService.solicitar(pedido);
+		URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+				.path("/{id}")
+				.buildAndExpand(exportacao.getId())
+				.toUri();
+		return ResponseEntity.accepted().location(location).body(exportacao);
+	}
+
+	@Operation(summary = "Situação da exportação", description = "Retorna a situação (PENDENTE, EM_EXECUCAO, CONCLUIDA ou FALHOU) e o progresso em linhas e bytes.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Exportação encontrada"),
+			@ApiResponse(responseCode = "404", description = "Exportação não encontrada")
+	})
+	@GetMapping("/{id}")
+	public ResponseEntity<Exportacao> getById(
+			@Parameter(description = "ID da exportação", example = "1") @PathVariable Long id) {
+		return ResponseEntity.ok(exportacaoService.getById(id));
+	}
+
+	@Operation(summary = "Baixar o arquivo da exportação", description = "Envia o arquivo de uma exportação concluída. Aceita o cabeçalho Range com um intervalo (bytes=inicio-fim, bytes=inicio- ou bytes=-N) para retomar downloads interrompidos.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Arquivo completo"),
+			@ApiResponse(responseCode = "206", description = "Intervalo pedido no Range"),
+			@ApiResponse(responseCode = "409", description = "Exportação ainda não concluída"),
+			@ApiResponse(responseCode = "410", description = "Arquivo removido do disco"),
+			@ApiResponse(responseCode = "416", description = "Intervalo fora do arquivo")
+	})
+	@GetMapping("/{id}/arquivo")
+	public void baixar(@Parameter(description = "ID da exportação", example = "1") @PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.RANGE, required = false) String range, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		ArquivoExportacao arquivo = exportacaoService.getArquivo(id);
+		IntervaloBytes intervalo = IntervaloBytes.de(range, arquivo.tamanho());
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		if (intervalo == IntervaloBytes.FORA_DO_ARQUIVO) {
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + arquivo.tamanho());
+			response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+			return;
+		}
+
+		long inicio = 0;
+		long quantidade = arquivo.tamanho();
+		if (intervalo != null) {
+			inicio = intervalo.inicio();
+			quantidade = intervalo.quantidade();
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE,
+					"bytes " + intervalo.inicio() + "-" + intervalo.fim() + "/" + arquivo.tamanho());
+		}
+		// O arquivo vai como está no disco, sem gzip: o Tomcat nunca comprime o sendfile, e os intervalos se referem
+		// aos bytes do arquivo. Com identity o Tomcat também não comprime no caminho sem sendfile (e remove o cabeçalho)
+		response.setHeader(HttpHeaders.CONTENT_ENCODING, "identity");
+		response.setContentType(arquivo.tipoConteudo());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo.nome() + "\"");
+		response.setContentLengthLong(quantidade);
+
+		enviar(arquivo.caminho(), inicio, quantidade, request, response);
+	}
+
+	// Com sendfile o Tomcat copia do arquivo para o socket no kernel depois que o método retorna. Sem ele (outro
+	// conector, TLS), o FileChannel transfere direto para o canal da resposta, sem buffer intermediário na aplicação.
+	private void enviar(Path caminho, long inicio, long quantidade, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO))) {
+			request.setAttribute(SENDFILE_ARQUIVO, caminho.toAbsolutePath().toString());
+			request.setAttribute(SENDFILE_INICIO, inicio);
+			request.setAttribute(SENDFILE_FIM, inicio + quantidade);
+			return;
+		}
+
+		try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+			WritableByteChannel destino = Channels.newChannel(response.getOutputStream());
+			long enviados = 0;
+			while (enviados < quantidade) {
+				long transferidos = canal.transferTo(inicio + enviados, quantidade - enviados, destino);
+				if (transferidos <= 0) {
+					break;
+				}
+				enviados += transferidos;
+			}
+		}
+	}
+}
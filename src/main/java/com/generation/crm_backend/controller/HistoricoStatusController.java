@@ -0,0 +1,84 @@
+package com.generation.crm_backend.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.generation.crm_backend.dto.TempoNoStatus;
+import com.generation.crm_backend.dto.TransicaoResumo;
+import com.generation.crm_backend.model.HistoricoStatus;
+import com.generation.crm_backend.service.HistoricoStatusService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/oportunidades")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Histórico de Status", description = "Transições de status das oportunidades e relatórios de tempo de ciclo")
+public class HistoricoStatusController {
+
+	@Autowired
+	private HistoricoStatusService historicoStatusService;
+
+	@Operation(summary = "Histórico de status de uma oportunidade", description = "Retorna a criação e todas as mudanças de status da oportunidade, em ordem cronológica. Continua disponível depois que a oportunidade é excluída.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Histórico retornado com sucesso")
+	})
+	@GetMapping("/{id}/historico")
+	public ResponseEntity<List<HistoricoStatus>> getHistorico(
+			@Parameter(description = "ID da oportunidade", example = "1") @PathVariable Long id) {
+		return ResponseEntity.ok(historicoStatusService.getHistoricoDaOportunidade(id));
+	}
+
+	@Operation(summary = "Transições de status em um período", description = "Retorna as transições registradas no período [inicio, fim), em ordem cronológica. A resposta não traz o total de elementos; use 'hasNext' para saber se há próxima página. O tamanho da página é limitado a 100 itens.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Página de transições retornada com sucesso"),
+			@ApiResponse(responseCode = "400", description = "Período ou paginação inválidos")
+	})
+	@GetMapping("/historico")
+	public ResponseEntity<Slice<HistoricoStatus>> getHistoricoPorPeriodo(
+			@Parameter(description = "Início do período (inclusivo)", example = "2025-01-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+			@Parameter(description = "Fim do período (exclusivo)", example = "2025-02-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+			@Parameter(description = "Número da página (começa em 0)", example = "0") @RequestParam(defaultValue = "0") int pagina,
+			@Parameter(description = "Quantidade de itens por página (máximo 100)", example = "50") @RequestParam(defaultValue = "50") int tamanho) {
+		return ResponseEntity.ok(historicoStatusService.getHistoricoPorPeriodo(inicio, fim, pagina, tamanho));
+	}
+
+	@Operation(summary = "Tempo de ciclo por etapa", description = "Para cada status, quantas oportunidades saíram dele no período [inicio, fim) e quanto tempo ficaram nele, em média e no máximo, em horas.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Tempos retornados com sucesso"),
+			@ApiResponse(responseCode = "400", description = "Período inválido")
+	})
+	@GetMapping("/historico/tempo-por-status")
+	public ResponseEntity<List<TempoNoStatus>> getTempoPorStatus(
+			@Parameter(description = "Início do período (inclusivo)", example = "2025-01-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+			@Parameter(description = "Fim do período (exclusivo)", example = "2025-02-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+		return ResponseEntity.ok(historicoStatusService.getTempoPorStatus(inicio, fim));
+	}
+
+	@Operation(summary = "Velocidade do funil", description = "Quantidade de transições entre cada par de status no período [inicio, fim) e a duração média na etapa de origem, em horas.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Transições retornadas com sucesso"),
+			@ApiResponse(responseCode = "400", description = "Período inválido")
+	})
+	@GetMapping("/historico/velocidade")
+	public ResponseEntity<List<TransicaoResumo>> getVelocidade(
+			@Parameter(description = "Início do período (inclusivo)", example = "2025-01-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+			@Parameter(description = "Fim do período (exclusivo)", example = "2025-02-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+		return ResponseEntity.ok(historicoStatusService.getVelocidade(inicio, fim));
+	}
+}
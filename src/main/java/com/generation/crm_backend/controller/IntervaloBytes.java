@@ -0,0 +1,59 @@
+package com.generation.crm_backend.controller;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Intervalo pedido no cabeçalho Range, com o fim inclusivo. Só um intervalo por pedido: com vários, o arquivo
+// inteiro é enviado (a RFC 9110 permite ignorar o Range), o que evita respostas multipart/byteranges.
+record IntervaloBytes(long inicio, long fim) {
+
+	// Intervalo que começa depois do fim do arquivo: resposta 416
+	static final IntervaloBytes FORA_DO_ARQUIVO = new IntervaloBytes(-1, -1);
+
+	long quantidade() {
+		return fim - inicio + 1;
+	}
+
+	// Só dígitos dos dois lados do hífen: o Long.parseLong aceitaria sinais, como em "bytes=--5" ou "bytes=+0-"
+	private static final Pattern ESPECIFICACAO = Pattern.compile("(\\d*)-(\\d*)");
+
+	// Nulo quando o arquivo inteiro deve ser enviado: sem Range, outra unidade, vários intervalos ou sintaxe inválida
+	static IntervaloBytes de(String range, long tamanhoArquivo) {
+		if (range == null || !range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+			return null;
+		}
+		Matcher especificacao = ESPECIFICACAO.matcher(range.substring("bytes=".length()).trim());
+		if (!especificacao.matches()) {
+			return null;
+		}
+		String textoInicio = especificacao.group(1);
+		String textoFim = especificacao.group(2);
+
+		try {
+			// bytes=-N: os últimos N bytes
+			if (textoInicio.isEmpty()) {
+				if (textoFim.isEmpty()) {
+					return null;
+				}
+				long sufixo = Long.parseLong(textoFim);
+				if (sufixo == 0 || tamanhoArquivo == 0) {
+					return FORA_DO_ARQUIVO;
+				}
+				return new IntervaloBytes(Math.max(0, tamanhoArquivo - sufixo), tamanhoArquivo - 1);
+			}
+
+			long inicio = Long.parseLong(textoInicio);
+			long fim = textoFim.isEmpty() ? tamanhoArquivo - 1 : Long.parseLong(textoFim);
+			if (fim < inicio) {
+				return null;
+			}
+			if (inicio >= tamanhoArquivo) {
+				return FORA_DO_ARQUIVO;
+			}
+			return new IntervaloBytes(inicio, Math.min(fim, tamanhoArquivo - 1));
+		} catch (NumberFormatException e) {
+			// Mais dígitos do que cabem em um long
+			return null;
+		}
+	}
+}
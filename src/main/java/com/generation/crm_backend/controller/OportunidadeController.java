@@ -1,9 +1,15 @@
 package com.generation.crm_backend.controller;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,23 +19,39 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.generation.crm_backend.controller.EsquemasDeResposta.PaginaDeOportunidades;
+import com.generation.crm_backend.controller.EsquemasDeResposta.PaginaDeOportunidadesResumo;
+import com.generation.crm_backend.dto.FunilMetricas;
+import com.generation.crm_backend.dto.FunilUsuario;
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.dto.PipelinePorCliente;
+import com.generation.crm_backend.dto.PipelinePorStatus;
+import com.generation.crm_backend.dto.PipelinePorUsuario;
+import com.generation.crm_backend.dto.TransicaoEmLoteDTO;
+import com.generation.crm_backend.dto.TransicaoEmLoteResultado;
 import com.generation.crm_backend.model.Oportunidade;
 import com.generation.crm_backend.model.StatusOportunidade;
 import com.generation.crm_backend.repository.OportunidadeRepository;
+import com.generation.crm_backend.service.FunilMetricasService;
 import com.generation.crm_backend.service.OportunidadeService;
 
 // Importações do Swagger/OpenAPI
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -45,17 +67,128 @@ public class OportunidadeController {
 	@Autowired
 	private OportunidadeRepository oportunidadeRepository;
 
+	@Autowired
+	private FunilMetricasService funilMetricasService;
+
 	@Operation(summary = "Lista todas as Oportunidades", description = "Retorna uma lista de todas as oportunidades de negócio cadastradas no sistema.")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "200", description = "Lista de oportunidades retornada com sucesso"),
+			@ApiResponse(responseCode = "200", description = "Lista de oportunidades retornada com sucesso: entidades completas (padrão) ou resumidas (view=summary)",
+					content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { Oportunidade[].class, OportunidadeResumo[].class }))),
 			@ApiResponse(responseCode = "204", description = "Nenhuma oportunidade encontrada (lista vazia)")
 	})
 	@GetMapping
-	public ResponseEntity<List<Oportunidade>> getAll() {
+	public ResponseEntity<Object> getAll(
+			@Parameter(description = "Visão dos itens: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary") @RequestParam(value = "view", defaultValue = "full") String visao) {
 
+		if ("summary".equalsIgnoreCase(visao)) {
+			return ResponseEntity.ok(oportunidadeService.findAllResumo());
+		}
 		return ResponseEntity.ok(oportunidadeService.findAll());
 	}
 
+	@Operation(summary = "Lista todas as Oportunidades em NDJSON", description = "Com Accept: application/x-ndjson, retorna as mesmas oportunidades da listagem em ordem de id, uma por linha. As linhas são lidas do banco por cursor e escritas à medida que chegam, sem montar a lista em memória.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Oportunidades em NDJSON (corpo vazio quando não há oportunidades)")
+	})
+	@GetMapping(produces = "application/x-ndjson")
+	public void getAllNdjson(
+			@Parameter(description = "Visão dos itens: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary") @RequestParam(value = "view", defaultValue = "full") String visao,
+			HttpServletResponse response) throws IOException {
+		response.setContentType("application/x-ndjson");
+		oportunidadeService.escreverNdjson(response.getOutputStream(), "summary".equalsIgnoreCase(visao));
+	}
+
+	@Operation(summary = "Busca paginada de Oportunidades com filtros", description = "Retorna uma página de oportunidades filtradas por qualquer combinação de status, cliente, usuário, faixa de valor estimado, período de criação e trecho do título. O tamanho da página é limitado a 100 itens.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Página de oportunidades retornada com sucesso (pode estar vazia): completa (padrão) ou resumida (view=summary)",
+					content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { PaginaDeOportunidades.class, PaginaDeOportunidadesResumo.class }))),
+			@ApiResponse(responseCode = "400", description = "Parâmetros de paginação ou ordenação inválidos")
+	})
+	@GetMapping("/busca")
+	public ResponseEntity<Object> buscar(
+			@Parameter(description = "Status da oportunidade") @RequestParam(required = false) StatusOportunidade status,
+			@Parameter(description = "ID do cliente") @RequestParam(required = false) Long clienteId,
+			@Parameter(description = "ID do usuário responsável") @RequestParam(required = false) Long usuarioId,
+			@Parameter(description = "Valor estimado mínimo (inclusivo)", example = "1000.00") @RequestParam(required = false) BigDecimal valorMinimo,
+			@Parameter(description = "Valor estimado máximo (inclusivo)", example = "50000.00") @RequestParam(required = false) BigDecimal valorMaximo,
+			@Parameter(description = "Data de criação inicial (inclusiva)", example = "2025-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+			@Parameter(description = "Data de criação final (inclusiva)", example = "2025-12-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+			@Parameter(description = "Trecho do título (case-insensitive)", example = "licença") @RequestParam(required = false) String titulo,
+			@Parameter(description = "Número da página (começa em 0)", example = "0") @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
+			@Parameter(description = "Tamanho da página (máximo 100)", example = "20") @RequestParam(value = "tamanho", defaultValue = "20") int tamanhoPagina,
+			@Parameter(description = "Campo para ordenação ('id', 'titulo', 'valorEstimado', 'status', 'dataCriacao')", example = "dataCriacao") @RequestParam(value = "ordenarPor", defaultValue = "id") String campoOrdenacao,
+			@Parameter(description = "Direção da ordenação ('asc', 'desc')", example = "desc") @RequestParam(value = "direcao", defaultValue = "asc") String direcaoOrdenacao,
+			@Parameter(description = "Visão dos itens: 'full' (entidade completa) ou 'summary' (apenas os campos da listagem)", example = "summary") @RequestParam(value = "view", defaultValue = "full") String visao) {
+
+		OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(status, clienteId, usuarioId, valorMinimo, valorMaximo,
+				dataInicio, dataFim, titulo);
+		if ("summary".equalsIgnoreCase(visao)) {
+			return ResponseEntity.ok(oportunidadeService.buscarResumo(filtro, numeroPagina, tamanhoPagina,
+					campoOrdenacao, direcaoOrdenacao));
+		}
+		return ResponseEntity.ok(oportunidadeService.buscar(filtro, numeroPagina, tamanhoPagina, campoOrdenacao,
+				direcaoOrdenacao));
+	}
+
+	@Operation(summary = "Funil de vendas por status", description = "Retorna, para cada status, a quantidade de oportunidades e a soma e a média do valor estimado. Status sem oportunidades aparecem zerados.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Agregados retornados com sucesso")
+	})
+	@GetMapping("/pipeline/status")
+	public ResponseEntity<List<PipelinePorStatus>> getPipelinePorStatus() {
+		return ResponseEntity.ok(oportunidadeService.getPipelinePorStatus());
+	}
+
+	@Operation(summary = "Funil de vendas por usuário", description = "Retorna, para cada usuário responsável, a quantidade de oportunidades e a soma e a média do valor estimado, do maior para o menor valor total. Pode ser restrito a um status.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Agregados retornados com sucesso")
+	})
+	@GetMapping("/pipeline/usuarios")
+	public ResponseEntity<List<PipelinePorUsuario>> getPipelinePorUsuario(
+			@Parameter(description = "Considera só as oportunidades neste status") @RequestParam(required = false) StatusOportunidade status) {
+		return ResponseEntity.ok(oportunidadeService.getPipelinePorUsuario(status));
+	}
+
+	@Operation(summary = "Funil de vendas por cliente", description = "Retorna uma página com, para cada cliente, a quantidade de oportunidades e a soma e a média do valor estimado, do maior para o menor valor total. Pode ser restrito a um status. O tamanho da página é limitado a 100 itens.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Página de agregados retornada com sucesso"),
+			@ApiResponse(responseCode = "400", description = "Parâmetros de paginação inválidos")
+	})
+	@GetMapping("/pipeline/clientes")
+	public ResponseEntity<Page<PipelinePorCliente>> getPipelinePorCliente(
+			@Parameter(description = "Considera só as oportunidades neste status") @RequestParam(required = false) StatusOportunidade status,
+			@Parameter(description = "Número da página (começa em 0)", example = "0") @RequestParam(value = "pagina", defaultValue = "0") int numeroPagina,
+			@Parameter(description = "Tamanho da página (máximo 100)", example = "20") @RequestParam(value = "tamanho", defaultValue = "20") int tamanhoPagina) {
+		return ResponseEntity.ok(oportunidadeService.getPipelinePorCliente(status, numeroPagina, tamanhoPagina));
+	}
+
+	@Operation(summary = "Métricas do funil em tempo real", description = "Retorna quantidade e valor por etapa, taxa de vitória, conversão por etapa e tempo médio em cada etapa. Servido da memória, sem consultar o banco; transições e tempos vêm do histórico de status.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso")
+	})
+	@GetMapping("/metricas/funil")
+	public ResponseEntity<FunilMetricas> getFunil() {
+		return ResponseEntity.ok(funilMetricasService.getFunil());
+	}
+
+	@Operation(summary = "Funil em tempo real por usuário", description = "Retorna, para cada usuário, quantidade e valor por etapa, valor em aberto e taxa de vitória, do maior para o menor valor em aberto. Servido da memória.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso")
+	})
+	@GetMapping("/metricas/funil/usuarios")
+	public ResponseEntity<List<FunilUsuario>> getFunilPorUsuario() {
+		return ResponseEntity.ok(funilMetricasService.getFunilPorUsuario());
+	}
+
+	@Operation(summary = "Funil em tempo real de um usuário", description = "Retorna quantidade e valor por etapa, valor em aberto e taxa de vitória de um usuário. Servido da memória.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso")
+	})
+	@GetMapping("/metricas/funil/usuarios/{usuarioId}")
+	public ResponseEntity<FunilUsuario> getFunilDoUsuario(@PathVariable Long usuarioId) {
+		return ResponseEntity.ok(funilMetricasService.getFunilDoUsuario(usuarioId));
+	}
+
 	@Operation(summary = "Busca Oportunidade por ID", description = "Retorna os detalhes de uma oportunidade específica com base no seu ID.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Oportunidade encontrada com sucesso"),
@@ -63,7 +196,8 @@ public class OportunidadeController {
 	})
 	@GetMapping("/{id}")
 	public ResponseEntity<Oportunidade> getById(@PathVariable Long id) {
-		return oportunidadeService.findById(id).map(resposta -> ResponseEntity.ok(resposta))
+		return oportunidadeService.findById(id)
+				.map(resposta -> ResponseEntity.ok().eTag(VersaoEtag.de(resposta.getVersao())).body(resposta))
 
 				.orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
 	}
@@ -75,7 +209,7 @@ public class OportunidadeController {
 	})
 	@GetMapping("/titulo/{titulo}")
 
-	public ResponseEntity<Object> getByTitulo(@PathVariable String titulo) {
+	public ResponseEntity<List<Oportunidade>> getByTitulo(@PathVariable String titulo) {
 		List<Oportunidade> oportunidades = oportunidadeService.findAllByTituloContainingIgnoreCase(titulo);
 		if (oportunidades.isEmpty()) {
 			return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
@@ -122,31 +256,53 @@ public class OportunidadeController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(oportunidadeService.save(oportunidade));
 	}
 
-	@Operation(summary = "Atualiza uma Oportunidade existente", description = "Modifica os dados de uma oportunidade já cadastrada. É necessário fornecer o ID da oportunidade no corpo da requisição.")
+	@Operation(summary = "Atualiza uma Oportunidade existente", description = "Modifica os dados de uma oportunidade já cadastrada. É necessário fornecer o ID da oportunidade no corpo da requisição. Com If-Match (ETag do GET) ou com a versão no corpo, a alteração só é aplicada se ninguém tiver modificado a oportunidade desde a leitura.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Oportunidade atualizada com sucesso",
 					content = @Content(schema = @Schema(implementation = Oportunidade.class))),
-			@ApiResponse(responseCode = "400", description = "ID da oportunidade ausente ou inválido"),
-			@ApiResponse(responseCode = "404", description = "Oportunidade não encontrada para atualização")
+			@ApiResponse(responseCode = "400", description = "ID da oportunidade ausente ou inválido, ou transição de status não permitida"),
+			@ApiResponse(responseCode = "404", description = "Oportunidade não encontrada para atualização"),
+			@ApiResponse(responseCode = "409", description = "A versão enviada no corpo está desatualizada"),
+			@ApiResponse(responseCode = "412", description = "O If-Match não corresponde à versão atual")
 	})
 	@PutMapping
-	public ResponseEntity<Oportunidade> put(@Valid @RequestBody Oportunidade oportunidade) {
+	public ResponseEntity<Oportunidade> put(@Valid @RequestBody Oportunidade oportunidade,
+			@Parameter(description = "ETag retornado pelo GET da oportunidade") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
 		if (oportunidade.getId() == null) {
 			return ResponseEntity.badRequest().build(); // ID é obrigatório para PUT
 		}
 
-		if (oportunidadeRepository.existsById(oportunidade.getId())) {
-			return ResponseEntity.status(HttpStatus.OK).body(oportunidadeRepository.save(oportunidade));
-		}
-
-		return ResponseEntity.status(HttpStatus.OK).body(oportunidadeService.update(oportunidade));
+		// O serviço valida a existência e resolve cliente/usuário antes de salvar
+		Oportunidade atualizada = oportunidadeService.update(oportunidade, VersaoEtag.versaoEsperada(ifMatch));
+		return ResponseEntity.status(HttpStatus.OK).eTag(VersaoEtag.de(atualizada.getVersao())).body(atualizada);
 	}
 
+	@Operation(summary = "Muda o status de uma Oportunidade", description = "Aplica uma transição do funil. A gravação só acontece se o status ainda for o que foi validado (e a versão a do If-Match, se enviado); caso contrário a resposta é 409 ou 412 e nada é alterado.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
+			@ApiResponse(responseCode = "400", description = "Transição não permitida a partir do status atual"),
+			@ApiResponse(responseCode = "404", description = "Oportunidade não encontrada"),
+			@ApiResponse(responseCode = "409", description = "A oportunidade mudou durante a requisição"),
+			@ApiResponse(responseCode = "412", description = "O If-Match não corresponde à versão atual")
+	})
 	@PutMapping("/{id}/status/{novoStatus}")
 	public ResponseEntity<Oportunidade> atualizarStatusOportunidade(@PathVariable Long id,
-			@PathVariable StatusOportunidade novoStatus) {
-		return ResponseEntity.ok(oportunidadeService.atualizarStatusOportunidade(id, novoStatus));
+			@PathVariable StatusOportunidade novoStatus,
+			@Parameter(description = "ETag retornado pelo GET da oportunidade") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+		Oportunidade atualizada = oportunidadeService.atualizarStatusOportunidade(id, novoStatus,
+				VersaoEtag.versaoEsperada(ifMatch));
+		return ResponseEntity.ok().eTag(VersaoEtag.de(atualizada.getVersao())).body(atualizada);
+	}
+
+	@Operation(summary = "Muda o status de várias Oportunidades", description = "Aplica a mesma transição a uma lista de até 10000 IDs ou às oportunidades de um status (opcionalmente criadas antes de uma data), com as mesmas regras da transição individual. Retorna o desfecho de cada oportunidade; no modo filtro, 'haMais' indica que a chamada deve ser repetida.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Lote processado; o resultado traz o desfecho de cada oportunidade"),
+			@ApiResponse(responseCode = "400", description = "Pedido sem IDs nem filtro, com os dois, ou acima do limite")
+	})
+	@PostMapping("/status/lote")
+	public ResponseEntity<TransicaoEmLoteResultado> atualizarStatusEmLote(@Valid @RequestBody TransicaoEmLoteDTO pedido) {
+		return ResponseEntity.ok(oportunidadeService.atualizarStatusEmLote(pedido));
 	}
 
 	@Operation(summary = "Exclui uma Oportunidade", description = "Remove uma oportunidade de negócio do sistema com base no seu ID.")
@@ -13,14 +13,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.generation.crm_backend.dto.UsuarioResumo;
 import com.generation.crm_backend.model.Usuario;
 import com.generation.crm_backend.repository.UsuarioRepository;
 import com.generation.crm_backend.service.UsuarioService;
 
 // Importações do Swagger/OpenAPI
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -43,11 +46,21 @@ public class UsuarioController {
 
     @Operation(summary = "Lista todos os Usuários", description = "Retorna uma lista de todos os usuários cadastrados no sistema.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso"),
+            @ApiResponse(responseCode = "200", description = "Lista de usuários retornada com sucesso: entidades completas (padrão) ou resumidas (view=summary)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(oneOf = { Usuario[].class, UsuarioResumo[].class }))),
             @ApiResponse(responseCode = "204", description = "Nenhum usuário encontrado (lista vazia)")
     })
     @GetMapping("/all")
-    public ResponseEntity <List<Usuario>> getAll(){
+    public ResponseEntity<Object> getAll(
+            @Parameter(description = "Visão dos itens: 'full' (entidade completa, sem a senha) ou 'summary' (sem foto e oportunidades)", example = "summary") @RequestParam(value = "view", defaultValue = "full") String visao) {
+        if ("summary".equalsIgnoreCase(visao)) {
+            List<UsuarioResumo> usuarios = usuarioService.findAllResumo();
+            if (usuarios.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
+            return ResponseEntity.ok(usuarios);
+        }
+
         List<Usuario> usuarios = usuarioRepository.findAll();
         if (usuarios.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build(); // Boa prática para listas vazias
@@ -0,0 +1,37 @@
+package com.generation.crm_backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// A versão (@Version) das entidades é o ETag forte das respostas; o If-Match dos PUTs volta a ser uma versão esperada
+final class VersaoEtag {
+
+	private VersaoEtag() {
+	}
+
+	static String de(Long versao) {
+		return "\"" + versao + "\"";
+	}
+
+	// Nulo quando o cabeçalho não foi enviado ou é "*" (qualquer versão)
+	static Long versaoEsperada(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String valor = ifMatch.trim();
+		// If-Match usa comparação forte: ETag fraco nunca corresponde
+		if (valor.startsWith("W/")) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+					"If-Match com ETag fraco não corresponde à versão atual.");
+		}
+		if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+			valor = valor.substring(1, valor.length() - 1);
+		}
+		try {
+			return Long.valueOf(valor);
+		} catch (NumberFormatException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Cabeçalho If-Match inválido: informe o ETag retornado pela API.");
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package com.generation.crm_backend.dto;
+
+import java.nio.file.Path;
+
+// Arquivo de uma exportação concluída, pronto para download
+public record ArquivoExportacao(Path caminho, long tamanho, String tipoConteudo, String nome) {
+}
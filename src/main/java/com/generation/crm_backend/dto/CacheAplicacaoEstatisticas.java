@@ -0,0 +1,6 @@
+package com.generation.crm_backend.dto;
+
+// Contadores de um cache Caffeine da aplicação desde a subida; despejos contam remoções por tamanho ou validade
+public record CacheAplicacaoEstatisticas(String nome, long acertos, long falhas, double taxaAcerto, long despejos,
+    long tamanhoEstimado) {
+}
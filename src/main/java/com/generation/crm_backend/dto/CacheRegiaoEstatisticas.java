@@ -0,0 +1,11 @@
+package com.generation.crm_backend.dto;
+
+// Contadores de uma região de cache desde a subida da aplicação
+public record CacheRegiaoEstatisticas(String regiao, long acertos, long falhas, long insercoes,
+    long elementosEmMemoria) {
+
+  public double taxaAcerto() {
+    long consultas = acertos + falhas;
+    return consultas > 0 ? (double) acertos / consultas : 0;
+  }
+}
@@ -0,0 +1,21 @@
+package com.generation.crm_backend.dto;
+
+// Quantos outros clientes já usam cada identificador informado (resultado de uma única consulta)
+public record ClienteConflitos(Long email, Long telefone, Long cpf, Long cnpj) {
+
+  public boolean emailEmUso() {
+    return email > 0;
+  }
+
+  public boolean telefoneEmUso() {
+    return telefone > 0;
+  }
+
+  public boolean cpfEmUso() {
+    return cpf > 0;
+  }
+
+  public boolean cnpjEmUso() {
+    return cnpj > 0;
+  }
+}
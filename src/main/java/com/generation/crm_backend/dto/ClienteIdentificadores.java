@@ -0,0 +1,5 @@
+package com.generation.crm_backend.dto;
+
+// Identificadores únicos de um cliente já cadastrado, usados para detectar conflitos na importação em lote
+public record ClienteIdentificadores(String email, String telefone, String cpf, String cnpj) {
+}
@@ -0,0 +1,10 @@
+package com.generation.crm_backend.dto;
+
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Visão resumida de um cliente para listagens (sem foto, datas e documentos).")
+public record ClienteResumo(Long id, String nome, String email, String telefone, TipoPessoa tipoPessoa,
+    Float leadScore) {
+}
@@ -0,0 +1,9 @@
+package com.generation.crm_backend.dto;
+
+// Métricas de uma exportação de clientes, usadas para comparar o modo em memória com o modo em streaming
+public record ExportacaoCsvResumo(String modo, long linhas, long duracaoMs, long picoHeapBytes) {
+
+  public long linhasPorSegundo() {
+    return duracaoMs > 0 ? linhas * 1000 / duracaoMs : linhas;
+  }
+}
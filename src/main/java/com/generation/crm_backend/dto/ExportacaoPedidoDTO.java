@@ -0,0 +1,18 @@
+package com.generation.crm_backend.dto;
+
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.Exportacao.Entidade;
+import com.generation.crm_backend.model.Exportacao.Formato;
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Pedido de exportação assíncrona. Os filtros são opcionais e valem só para a entidade indicada.")
+public record ExportacaoPedidoDTO(
+		@Schema(description = "O que exportar", example = "CLIENTES") @NotNull Entidade entidade,
+		@Schema(description = "Formato do arquivo; padrão CSV", example = "NDJSON") Formato formato,
+		@Schema(description = "Clientes: só pessoas físicas ou jurídicas", example = "JURIDICA") TipoPessoa tipoPessoa,
+		@Schema(description = "Clientes: lead score mínimo", example = "7") Float leadScoreMinimo,
+		@Schema(description = "Oportunidades: só as que estão neste status", example = "EM_NEGOCIACAO") StatusOportunidade statusOportunidade) {
+}
@@ -0,0 +1,18 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Situação atual de uma etapa do funil e as transições registradas a partir dela no histórico de status.")
+public record FunilEtapa(
+		StatusOportunidade status,
+		long quantidade,
+		BigDecimal valorTotal,
+		@Schema(description = "Transições que saíram desta etapa") long saidas,
+		@Schema(description = "Saídas para a etapa seguinte do funil (NOVA -> EM_NEGOCIACAO, EM_NEGOCIACAO -> GANHA)") long avancos,
+		@Schema(description = "avancos / saidas; nulo sem saídas ou em etapas finais") Double taxaConversao,
+		@Schema(description = "Tempo médio, em horas, entre entrar e sair desta etapa; nulo sem amostras") Double tempoMedioHoras) {
+}
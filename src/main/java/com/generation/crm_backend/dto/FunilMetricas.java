@@ -0,0 +1,13 @@
+package com.generation.crm_backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Métricas do funil mantidas em memória e atualizadas a cada mudança de oportunidade.")
+public record FunilMetricas(
+		List<FunilEtapa> etapas,
+		@Schema(description = "GANHA / (GANHA + PERDIDA); nulo sem oportunidades encerradas") Double taxaVitoria,
+		@Schema(description = "Quando os totais foram carregados do banco") Instant reconstruidoEm) {
+}
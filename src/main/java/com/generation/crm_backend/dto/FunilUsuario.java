@@ -0,0 +1,14 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Funil de um usuário (vendedor), com quantidade e valor por etapa.")
+public record FunilUsuario(
+		Long usuarioId,
+		List<PipelinePorStatus> etapas,
+		@Schema(description = "Soma do valor estimado das oportunidades NOVA e EM_NEGOCIACAO") BigDecimal valorEmAberto,
+		@Schema(description = "GANHA / (GANHA + PERDIDA); nulo sem oportunidades encerradas") Double taxaVitoria) {
+}
@@ -0,0 +1,14 @@
+package com.generation.crm_backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Relatório da importação de clientes em lote, com o resultado de cada linha.")
+public record ImportacaoClientesRelatorio(
+    @Schema(description = "Total de linhas de dados processadas.", example = "1000") long totalLinhas,
+    @Schema(description = "Clientes gravados.", example = "990") long importadas,
+    @Schema(description = "Linhas rejeitadas.", example = "10") long rejeitadas,
+    @Schema(description = "Duração da importação em milissegundos.", example = "850") long duracaoMs,
+    @Schema(description = "Resultado por linha.") List<ImportacaoLinhaResultado> linhas) {
+}
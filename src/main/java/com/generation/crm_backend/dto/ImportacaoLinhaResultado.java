@@ -0,0 +1,10 @@
+package com.generation.crm_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da importação de uma linha do arquivo.")
+public record ImportacaoLinhaResultado(
+    @Schema(description = "Número da linha no arquivo (no CSV, a linha 1 é o cabeçalho).", example = "2") long linha,
+    @Schema(description = "Indica se o cliente da linha foi gravado.", example = "true") boolean sucesso,
+    @Schema(description = "Mensagem de sucesso ou motivo da rejeição.", example = "Email já cadastrado.") String mensagem) {
+}
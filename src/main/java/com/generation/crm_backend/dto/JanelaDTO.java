@@ -0,0 +1,13 @@
+package com.generation.crm_backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Janela de resultados paginada por cursor (keyset). Não traz contagem total: para buscar a próxima janela, envie 'proximoCursor' no parâmetro 'after'.")
+public record JanelaDTO<T>(
+    @Schema(description = "Itens da janela atual.") List<T> conteudo,
+    @Schema(description = "Quantidade de itens na janela atual.", example = "10") int tamanho,
+    @Schema(description = "Indica se existe uma próxima janela.", example = "true") boolean temProxima,
+    @Schema(description = "Cursor opaco da próxima janela (nulo quando não há mais resultados).") String proximoCursor) {
+}
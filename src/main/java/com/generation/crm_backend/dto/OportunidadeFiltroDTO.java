@@ -0,0 +1,18 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+// Filtros opcionais da busca de oportunidades; campos nulos são ignorados
+public record OportunidadeFiltroDTO(
+		StatusOportunidade status,
+		Long clienteId,
+		Long usuarioId,
+		BigDecimal valorMinimo,
+		BigDecimal valorMaximo,
+		LocalDate dataInicio,
+		LocalDate dataFim,
+		String titulo) {
+}
@@ -0,0 +1,21 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Visão resumida de uma oportunidade para listagens, com apenas id e nome do cliente e do usuário.")
+public record OportunidadeResumo(
+		Long id,
+		String titulo,
+		BigDecimal valorEstimado,
+		StatusOportunidade status,
+		LocalDate dataCriacao,
+		Long clienteId,
+		String clienteNome,
+		Long usuarioId,
+		String usuarioNome) {
+}
@@ -0,0 +1,21 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totais do funil de vendas para um cliente.")
+public record PipelinePorCliente(
+		Long clienteId,
+		String clienteNome,
+		long quantidade,
+		BigDecimal valorTotal,
+		BigDecimal valorMedio) {
+
+	// Usado pela consulta agregada (select new ... group by)
+	public PipelinePorCliente(Long clienteId, String clienteNome, Long quantidade, BigDecimal valorTotal) {
+		this(clienteId, clienteNome, quantidade, valorTotal,
+				valorTotal.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_EVEN));
+	}
+}
@@ -0,0 +1,27 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totais do funil de vendas para um status de oportunidade.")
+public record PipelinePorStatus(
+		StatusOportunidade status,
+		long quantidade,
+		BigDecimal valorTotal,
+		BigDecimal valorMedio) {
+
+	// Usado pela consulta agregada (select new ... group by)
+	public PipelinePorStatus(StatusOportunidade status, Long quantidade, BigDecimal valorTotal) {
+		this(status, quantidade, valorTotal, quantidade > 0
+				? valorTotal.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_EVEN)
+				: BigDecimal.ZERO);
+	}
+
+	public static PipelinePorStatus vazio(StatusOportunidade status) {
+		return new PipelinePorStatus(status, 0L, BigDecimal.ZERO);
+	}
+}
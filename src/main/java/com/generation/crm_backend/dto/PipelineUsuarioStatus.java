@@ -0,0 +1,10 @@
+package com.generation.crm_backend.dto;
+
+import java.math.BigDecimal;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+// Totais por usuário e status, usados para reconstruir as métricas em memória do funil
+public record PipelineUsuarioStatus(Long usuarioId, StatusOportunidade status, Long quantidade,
+		BigDecimal valorTotal) {
+}
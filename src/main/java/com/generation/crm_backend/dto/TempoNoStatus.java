@@ -0,0 +1,20 @@
+package com.generation.crm_backend.dto;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Tempo de ciclo de uma etapa: quanto as oportunidades que saíram dela no período ficaram nela.")
+public record TempoNoStatus(
+		StatusOportunidade status,
+		@Schema(description = "Saídas da etapa no período com duração conhecida") long saidas,
+		Double duracaoMediaHoras,
+		Double duracaoMaximaHoras) {
+
+	// Usado pela consulta agregada (select new ... group by)
+	public TempoNoStatus(StatusOportunidade status, Long saidas, Double duracaoMediaSegundos,
+			Long duracaoMaximaSegundos) {
+		this(status, saidas, duracaoMediaSegundos != null ? duracaoMediaSegundos / 3600 : null,
+				duracaoMaximaSegundos != null ? duracaoMaximaSegundos / 3600d : null);
+	}
+}
@@ -0,0 +1,17 @@
+package com.generation.crm_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Transição de status em lote: informe a lista de IDs ou o filtro (status atual e, opcionalmente, data de criação).")
+public record TransicaoEmLoteDTO(
+		@NotNull(message = "O novo status é obrigatório!") @Schema(example = "ARQUIVADA") StatusOportunidade novoStatus,
+		@Schema(description = "IDs das oportunidades (máximo 10000)") List<Long> ids,
+		@Schema(description = "Filtro: oportunidades neste status", example = "NOVA") StatusOportunidade statusAtual,
+		@Schema(description = "Filtro: criadas antes desta data (exclusiva)", example = "2025-01-01") LocalDate criadaAntesDe) {
+}
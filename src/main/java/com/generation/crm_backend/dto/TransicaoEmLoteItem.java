@@ -0,0 +1,17 @@
+package com.generation.crm_backend.dto;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da transição de uma oportunidade do lote.")
+public record TransicaoEmLoteItem(
+		Long id,
+		Resultado resultado,
+		@Schema(description = "Status antes do lote; nulo se a oportunidade não existe") StatusOportunidade statusAnterior,
+		@Schema(description = "Motivo quando a transição não foi aplicada") String mensagem) {
+
+	public enum Resultado {
+		APLICADA, JA_NO_STATUS, NAO_PERMITIDA, NAO_ENCONTRADA
+	}
+}
@@ -0,0 +1,16 @@
+package com.generation.crm_backend.dto;
+
+import java.util.List;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de uma transição de status em lote, com o desfecho de cada oportunidade.")
+public record TransicaoEmLoteResultado(
+		StatusOportunidade novoStatus,
+		@Schema(description = "Transições aplicadas", example = "9800") long aplicadas,
+		@Schema(description = "Oportunidades não alteradas (já no status, transição não permitida ou inexistentes)", example = "200") long naoAplicadas,
+		@Schema(description = "No modo filtro, indica que há mais oportunidades além do limite do lote; repita a chamada") boolean haMais,
+		List<TransicaoEmLoteItem> itens) {
+}
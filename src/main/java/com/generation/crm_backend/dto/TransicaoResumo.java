@@ -0,0 +1,24 @@
+package com.generation.crm_backend.dto;
+
+import com.generation.crm_backend.model.StatusOportunidade;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Quantidade de transições de um status para outro no período (velocidade do funil).")
+public record TransicaoResumo(
+		StatusOportunidade de,
+		StatusOportunidade para,
+		long quantidade,
+		@Schema(description = "Soma das durações conhecidas no status de origem, em segundos") long duracaoTotalSegundos,
+		@Schema(description = "Transições com duração conhecida") long amostrasDuracao,
+		@Schema(description = "Duração média no status de origem, em horas; nulo sem amostras") Double duracaoMediaHoras) {
+
+	// Usado pela consulta agregada (select new ... group by); sum é nulo quando nenhuma duração é conhecida
+	public TransicaoResumo(StatusOportunidade de, StatusOportunidade para, Long quantidade,
+			Long duracaoTotalSegundos, Long amostrasDuracao) {
+		this(de, para, quantidade, duracaoTotalSegundos != null ? duracaoTotalSegundos : 0L, amostrasDuracao,
+				amostrasDuracao > 0 && duracaoTotalSegundos != null
+						? duracaoTotalSegundos / (double) amostrasDuracao / 3600
+						: null);
+	}
+}
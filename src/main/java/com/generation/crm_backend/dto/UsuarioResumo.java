@@ -0,0 +1,7 @@
+package com.generation.crm_backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Visão resumida de um usuário para listagens (sem senha, foto e oportunidades).")
+public record UsuarioResumo(Long id, String nome, String email, String cargo) {
+}
@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.validator.constraints.br.CNPJ;
@@ -13,6 +17,7 @@ import com.opencsv.bean.CsvBindByName;
 import com.opencsv.bean.CsvBindByPosition;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -22,7 +27,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -33,10 +41,25 @@ import jakarta.validation.constraints.Size;
 import jakarta.persistence.OneToMany;
 
 @Entity
-@Table(name = "tb_clientes")
+@Table(name = "tb_clientes", uniqueConstraints = {
+    @UniqueConstraint(name = Cliente.UK_EMAIL, columnNames = "email"),
+    @UniqueConstraint(name = Cliente.UK_TELEFONE, columnNames = "telefone"),
+    @UniqueConstraint(name = Cliente.UK_CPF, columnNames = "cpf"),
+    @UniqueConstraint(name = Cliente.UK_CNPJ, columnNames = "cnpj") }, indexes = {
+        // Espelham a migração V3 (os índices sobre upper(coluna) da V2 só existem nas migrações)
+        @Index(name = "idx_clientes_tipo_nome", columnList = "tipo_pessoa, nome"),
+        @Index(name = "idx_clientes_lead_score", columnList = "lead_score") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Schema(description = "Representa um cliente no sistema CRM, podendo ser pessoa física ou jurídica.")
 public class Cliente {
 
+  // Nomes das constraints únicas, usados para traduzir violações em mensagens de validação
+  public static final String UK_EMAIL = "uk_clientes_email";
+  public static final String UK_TELEFONE = "uk_clientes_telefone";
+  public static final String UK_CPF = "uk_clientes_cpf";
+  public static final String UK_CNPJ = "uk_clientes_cnpj";
+
   @Schema(description = "Tipo de pessoa do cliente (Física ou Jurídica).")
   public enum TipoPessoa {
     @Schema(description = "Pessoa Física")
@@ -73,7 +96,7 @@ public class Cliente {
   @NotBlank(message = "O e-mail é obrigatório.")
   @Email(message = "O e-mail deve ser válido.")
   @Size(max = 100, message = "O e-mail não pode exceder 100 caracteres.")
-  @Column(length = 100, nullable = false, unique = true)
+  @Column(length = 100, nullable = false)
   @Schema(description = "Endereço de e-mail principal do cliente.", example = "contato@empresaxyz.com", requiredMode = Schema.RequiredMode.REQUIRED, maxLength = 100)
   @CsvBindByPosition(position = 2)
   @CsvBindByName(column = "Email")
@@ -103,14 +126,14 @@ public class Cliente {
   private TipoPessoa tipoPessoa;
 
   @CPF(message = "O CPF deve ser válido.")
-  @Column(length = 14, unique = true)
+  @Column(length = 14)
   @Schema(description = "Cadastro de Pessoa Física (CPF) do cliente. Obrigatório se tipoPessoa for FISICA. Deve ser único. Será armazenado apenas com números.", example = "12345678900")
   @CsvBindByPosition(position = 6)
   @CsvBindByName(column = "CPF")
   private String cpf;
 
   @CNPJ(message = "O CNPJ deve ser válido.")
-  @Column(length = 18, unique = true)
+  @Column(length = 18)
   @Schema(description = "Cadastro Nacional da Pessoa Jurídica (CNPJ) do cliente. Obrigatório se tipoPessoa for JURIDICA. Deve ser único. Será armazenado apenas com números.", example = "12345678000199")
   @CsvBindByPosition(position = 7)
   @CsvBindByName(column = "CNPJ")
@@ -137,8 +160,17 @@ public class Cliente {
   @CsvBindByPosition(position = 10)
   @CsvBindByName(column = "Data Removido")
   private LocalDateTime updatedAt;
-  
+
+  // Controle de concorrência otimista, exposto como ETag no GET e no PUT por ID
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  @Schema(description = "Versão do registro, incrementada a cada alteração.", example = "0", accessMode = Schema.AccessMode.READ_ONLY)
+  private Long versao;
+
+  // Carregada pelas cascatas: com @BatchSize, excluir vários clientes na mesma sessão busca as coleções num SELECT só
   @OneToMany(fetch = FetchType.LAZY, mappedBy = "cliente", cascade = CascadeType.ALL)
+  @BatchSize(size = 50)
   private List<Oportunidade> oportunidade;
 
   public Long getId() {
@@ -229,6 +261,14 @@ public class Cliente {
     this.updatedAt = updatedAt;
   }
 
+  public Long getVersao() {
+    return versao;
+  }
+
+  public void setVersao(Long versao) {
+    this.versao = versao;
+  }
+
 @Override
   public String toString() {
     return "Cliente{" +
@@ -0,0 +1,170 @@
+package com.generation.crm_backend.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Job de exportação executado em segundo plano. O progresso (último id escrito, linhas e bytes do arquivo) é gravado
+// a cada lote, então outra execução retoma o arquivo do ponto em que a anterior parou.
+@Entity
+@Table(name = "tb_exportacoes", indexes = {
+		// Espelha a migração V7: busca dos jobs a retomar
+		@Index(name = "idx_exportacoes_situacao", columnList = "situacao, atualizada_em") })
+@Schema(description = "Exportação assíncrona de clientes ou oportunidades e o seu progresso.")
+public class Exportacao {
+
+	public enum Entidade {
+		CLIENTES, OPORTUNIDADES
+	}
+
+	public enum Formato {
+		CSV, NDJSON
+	}
+
+	public enum Situacao {
+		PENDENTE, EM_EXECUCAO, CONCLUIDA, FALHOU
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private Entidade entidade;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 10)
+	private Formato formato;
+
+	// Filtros opcionais: tipoPessoa e leadScoreMinimo para clientes, statusOportunidade para oportunidades
+	@Enumerated(EnumType.STRING)
+	@Column(name = "tipo_pessoa", length = 10)
+	private TipoPessoa tipoPessoa;
+
+	@Column(name = "lead_score_minimo")
+	private Float leadScoreMinimo;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status_oportunidade", length = 50)
+	private StatusOportunidade statusOportunidade;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private Situacao situacao = Situacao.PENDENTE;
+
+	@Column(nullable = false)
+	private long linhas;
+
+	@Column(nullable = false)
+	private long bytes;
+
+	// Checkpoint: o próximo lote começa depois deste id
+	@JsonIgnore
+	@Column(name = "ultimo_id", nullable = false)
+	private long ultimoId;
+
+	// Incrementada por quem assume o job; o progresso só é gravado por quem tem a execução atual
+	@JsonIgnore
+	@Column(nullable = false)
+	private int execucao;
+
+	@Column(length = 1000)
+	private String erro;
+
+	@Column(name = "criada_em", nullable = false)
+	private LocalDateTime criadaEm;
+
+	// Atualizada a cada lote: um job EM_EXECUCAO parado há muito tempo perdeu a instância que o executava
+	@Column(name = "atualizada_em", nullable = false)
+	private LocalDateTime atualizadaEm;
+
+	@Column(name = "concluida_em")
+	private LocalDateTime concluidaEm;
+
+	protected Exportacao() {
+	}
+
+	public Exportacao(Entidade entidade, Formato formato, TipoPessoa tipoPessoa, Float leadScoreMinimo,
+			StatusOportunidade statusOportunidade, LocalDateTime criadaEm) {
+		this.entidade = entidade;
+		this.formato = formato;
+		this.tipoPessoa = tipoPessoa;
+		this.leadScoreMinimo = leadScoreMinimo;
+		this.statusOportunidade = statusOportunidade;
+		this.criadaEm = criadaEm;
+		this.atualizadaEm = criadaEm;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Entidade getEntidade() {
+		return entidade;
+	}
+
+	public Formato getFormato() {
+		return formato;
+	}
+
+	public TipoPessoa getTipoPessoa() {
+		return tipoPessoa;
+	}
+
+	public Float getLeadScoreMinimo() {
+		return leadScoreMinimo;
+	}
+
+	public StatusOportunidade getStatusOportunidade() {
+		return statusOportunidade;
+	}
+
+	public Situacao getSituacao() {
+		return situacao;
+	}
+
+	public long getLinhas() {
+		return linhas;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	public long getUltimoId() {
+		return ultimoId;
+	}
+
+	public int getExecucao() {
+		return execucao;
+	}
+
+	public String getErro() {
+		return erro;
+	}
+
+	public LocalDateTime getCriadaEm() {
+		return criadaEm;
+	}
+
+	public LocalDateTime getAtualizadaEm() {
+		return atualizadaEm;
+	}
+
+	public LocalDateTime getConcluidaEm() {
+		return concluidaEm;
+	}
+}
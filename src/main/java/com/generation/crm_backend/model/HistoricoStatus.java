@@ -0,0 +1,93 @@
+package com.generation.crm_backend.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Registro somente de inclusão de cada mudança de status de uma oportunidade (e da criação, com statusAnterior nulo).
+// Sem chave estrangeira para tb_oportunidades: o histórico continua disponível depois que a oportunidade é excluída.
+@Entity
+@Immutable
+@Table(name = "tb_historico_status", indexes = {
+		// Espelham a migração V5 (no PostgreSQL o índice por data é BRIN)
+		@Index(name = "idx_historico_oportunidade_data", columnList = "oportunidade_id, data_transicao"),
+		@Index(name = "idx_historico_data", columnList = "data_transicao") })
+public class HistoricoStatus {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "oportunidade_id", nullable = false)
+	private Long oportunidadeId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status_anterior", length = 50)
+	private StatusOportunidade statusAnterior;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status_novo", nullable = false, length = 50)
+	private StatusOportunidade statusNovo;
+
+	@Column(name = "data_transicao", nullable = false)
+	private LocalDateTime dataTransicao;
+
+	// Usuário responsável pela oportunidade no momento da transição
+	@Column(name = "usuario_id", nullable = false)
+	private Long usuarioId;
+
+	// Tempo que a oportunidade ficou no status anterior; nulo quando a entrada nele não está no histórico
+	@Column(name = "duracao_status_anterior_segundos")
+	private Long duracaoStatusAnteriorSegundos;
+
+	protected HistoricoStatus() {
+	}
+
+	public HistoricoStatus(Long oportunidadeId, StatusOportunidade statusAnterior, StatusOportunidade statusNovo,
+			LocalDateTime dataTransicao, Long usuarioId, Long duracaoStatusAnteriorSegundos) {
+		this.oportunidadeId = oportunidadeId;
+		this.statusAnterior = statusAnterior;
+		this.statusNovo = statusNovo;
+		this.dataTransicao = dataTransicao;
+		this.usuarioId = usuarioId;
+		this.duracaoStatusAnteriorSegundos = duracaoStatusAnteriorSegundos;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getOportunidadeId() {
+		return oportunidadeId;
+	}
+
+	public StatusOportunidade getStatusAnterior() {
+		return statusAnterior;
+	}
+
+	public StatusOportunidade getStatusNovo() {
+		return statusNovo;
+	}
+
+	public LocalDateTime getDataTransicao() {
+		return dataTransicao;
+	}
+
+	public Long getUsuarioId() {
+		return usuarioId;
+	}
+
+	public Long getDuracaoStatusAnteriorSegundos() {
+		return duracaoStatusAnteriorSegundos;
+	}
+}
@@ -3,6 +3,8 @@ package com.generation.crm_backend.model;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
@@ -13,15 +15,22 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "tb_oportunidades")
+@Table(name = "tb_oportunidades", indexes = {
+		// Espelham as migrações V3 e V4 (também usados pelo esquema gerado nos testes)
+		@Index(name = "idx_oportunidades_cliente", columnList = "cliente_id, status_oportunidade, valor_estimado"),
+		@Index(name = "idx_oportunidades_usuario", columnList = "usuario_id, status_oportunidade, valor_estimado"),
+		@Index(name = "idx_oportunidades_status_data", columnList = "status_oportunidade, data_criacao"),
+		@Index(name = "idx_oportunidades_status_valor", columnList = "status_oportunidade, valor_estimado") })
 public class Oportunidade {
 
 	@Id
@@ -50,18 +59,24 @@ public class Oportunidade {
 	@Column(name = "data_criacao", nullable = false)
 	private LocalDate dataCriacao;
 
-	// relaciona c usuario
-	@ManyToOne
+	// relaciona c usuario (LAZY: cada consulta do repositório declara o que precisa carregar via @EntityGraph)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "usuario_id", nullable = false) // nome_da_entidade_id
-	@JsonIgnoreProperties({ "oportunidade" })
+	@JsonIgnoreProperties({ "oportunidade", "hibernateLazyInitializer", "handler" })
 	private Usuario usuario;
 
 	// relaciona c cliente
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "cliente_id", nullable = false) // nome_da_entidade_id
-	@JsonIgnoreProperties({ "oportunidade" })
+	@JsonIgnoreProperties({ "oportunidade", "hibernateLazyInitializer", "handler" })
 	private Cliente cliente;
 
+	// Controle de concorrência otimista: incrementada a cada alteração e exposta como ETag nos endpoints
+	@Version
+	@ColumnDefault("0")
+	@Column(nullable = false)
+	private Long versao;
+
 	public Oportunidade() {
 		this.dataCriacao = LocalDate.now(); // data atual do sistema
 		this.status = StatusOportunidade.NOVA;
@@ -132,4 +147,12 @@ public class Oportunidade {
 		this.cliente = cliente;
 	}
 
+	public Long getVersao() {
+		return versao;
+	}
+
+	public void setVersao(Long versao) {
+		this.versao = versao;
+	}
+
 }
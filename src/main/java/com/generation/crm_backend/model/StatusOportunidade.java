@@ -1,10 +1,20 @@
 package com.generation.crm_backend.model;
 
 public enum StatusOportunidade {
-	
-    NOVA,         
-    EM_NEGOCIACAO, 
-    GANHA,        
-    PERDIDA,      
-    ARQUIVADA      
+
+    NOVA,
+    EM_NEGOCIACAO,
+    GANHA,
+    PERDIDA,
+    ARQUIVADA;
+
+	// Regras do funil, usadas tanto na validação quanto nos UPDATEs condicionados ao status de origem
+	public boolean permiteTransicaoPara(StatusOportunidade novoStatus) {
+		return switch (this) {
+			case NOVA -> novoStatus == EM_NEGOCIACAO || novoStatus == PERDIDA;
+			case EM_NEGOCIACAO -> novoStatus == GANHA || novoStatus == PERDIDA || novoStatus == ARQUIVADA;
+			case GANHA -> novoStatus != NOVA && novoStatus != PERDIDA;
+			case PERDIDA, ARQUIVADA -> true;
+		};
+	}
 }
@@ -2,8 +2,14 @@ package com.generation.crm_backend.model;
 
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 
@@ -21,6 +27,8 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "tb_usuarios")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Usuario {
 
 	@Id
@@ -38,6 +46,8 @@ public class Usuario {
 
 	@NotBlank(message = "O Atributo Senha é Obrigatório!")
 	@Size(min = 8, message = "A Senha deve ter no mínimo 8 caracteres")
+	// Aceita na entrada (POST/PUT), nunca sai nas respostas, inclusive no usuario aninhado das oportunidades
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	@Column(nullable = false, length = 255)
 	private String senha;
 
@@ -53,7 +63,9 @@ public class Usuario {
 	@Column(nullable = false, length = 100)
 	private String cargo;
 
+	// Coleções de vários usuários da mesma sessão são inicializadas juntas, num único SELECT com IN
 	@OneToMany(fetch = FetchType.LAZY, mappedBy = "usuario", cascade = CascadeType.REMOVE)
+	@BatchSize(size = 50)
 	@JsonIgnoreProperties("usuario")
 	private List<Oportunidade> oportunidade;
 
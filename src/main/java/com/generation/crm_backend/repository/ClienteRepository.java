@@ -1,22 +1,40 @@
 package com.generation.crm_backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.generation.crm_backend.dto.ClienteConflitos;
+import com.generation.crm_backend.dto.ClienteIdentificadores;
+import com.generation.crm_backend.dto.ClienteResumo;
 import com.generation.crm_backend.model.Cliente;
 import com.generation.crm_backend.model.Cliente.TipoPessoa;
 
+import jakarta.persistence.QueryHint;
+
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
   Page<Cliente> findAllByNomeContainingIgnoreCase(String nome, Pageable pageable);
 
+  // As buscas por identificador passam pelo ClienteCache, o único cache de clientes
   Optional<Cliente> findByEmailIgnoreCase(String email);
 
-  Optional<Cliente> findByTelefoneIgnoreCase(String telefone);
+  // Telefone é gravado só com dígitos: igualdade simples usa o índice da restrição única
+  Optional<Cliente> findByTelefone(String telefone);
 
   Page<Cliente> findAllByTipoPessoa(TipoPessoa tipoPessoa, Pageable pageable);
 
@@ -34,4 +52,79 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
   // Pegar todos clientes com o leadScore menor ou igual ao valor informado
   Page<Cliente> findAllByLeadScoreLessThanEqual(Float leadScore, Pageable pageable);
 
+  // Verifica em uma única ida ao banco quais identificadores já pertencem a outro cliente.
+  // Parâmetros vazios nunca coincidem com valores gravados (os setters gravam null no lugar de vazio).
+  @Query("select new com.generation.crm_backend.dto.ClienteConflitos("
+      + "count(case when upper(c.email) = upper(:email) then 1 end), "
+      + "count(case when c.telefone = :telefone then 1 end), "
+      + "count(case when c.cpf = :cpf then 1 end), "
+      + "count(case when c.cnpj = :cnpj then 1 end)) "
+      + "from Cliente c "
+      + "where (upper(c.email) = upper(:email) or c.telefone = :telefone or c.cpf = :cpf or c.cnpj = :cnpj) "
+      + "and c.id <> :idIgnorado")
+  ClienteConflitos verificarConflitos(@Param("email") String email, @Param("telefone") String telefone,
+      @Param("cpf") String cpf, @Param("cnpj") String cnpj, @Param("idIgnorado") Long idIgnorado);
+
+  // Versão em lote da verificação acima: identificadores de clientes que já usam algum dos valores (email em maiúsculas)
+  @Query("select new com.generation.crm_backend.dto.ClienteIdentificadores(c.email, c.telefone, c.cpf, c.cnpj) "
+      + "from Cliente c "
+      + "where upper(c.email) in :emails or c.telefone in :telefones or c.cpf in :cpfs or c.cnpj in :cnpjs")
+  List<ClienteIdentificadores> findIdentificadoresExistentes(@Param("emails") Collection<String> emails,
+      @Param("telefones") Collection<String> telefones, @Param("cpfs") Collection<String> cpfs,
+      @Param("cnpjs") Collection<String> cnpjs);
+
+  // Listagem resumida: seleciona só as colunas exibidas na grade
+  @Query(value = "select new com.generation.crm_backend.dto.ClienteResumo(c.id, c.nome, c.email, c.telefone, c.tipoPessoa, c.leadScore) from Cliente c",
+      countQuery = "select count(c) from Cliente c")
+  Page<ClienteResumo> findAllResumo(Pageable pageable);
+
+  // Buscas paginadas na visão resumida: com o record como retorno, a consulta derivada seleciona só os campos do
+  // construtor (select new), sem montar a entidade
+  Page<ClienteResumo> findResumoByNomeContainingIgnoreCase(String nome, Pageable pageable);
+
+  Page<ClienteResumo> findResumoByTipoPessoa(TipoPessoa tipoPessoa, Pageable pageable);
+
+  Page<ClienteResumo> findResumoByLeadScore(Float leadScore, Pageable pageable);
+
+  Page<ClienteResumo> findResumoByLeadScoreGreaterThanEqual(Float leadScore, Pageable pageable);
+
+  Page<ClienteResumo> findResumoByLeadScoreLessThanEqual(Float leadScore, Pageable pageable);
+
+  // Paginação por cursor (keyset): filtra pelo campo de ordenação + id do último item, sem OFFSET e sem count
+
+  Window<Cliente> findAllBy(ScrollPosition posicao, Sort sort, Limit limit);
+
+  Window<Cliente> findAllByNomeContainingIgnoreCase(String nome, ScrollPosition posicao, Sort sort, Limit limit);
+
+  Window<Cliente> findAllByTipoPessoa(TipoPessoa tipoPessoa, ScrollPosition posicao, Sort sort, Limit limit);
+
+  Window<Cliente> findAllByLeadScore(Float leadScore, ScrollPosition posicao, Sort sort, Limit limit);
+
+  Window<Cliente> findAllByLeadScoreGreaterThanEqual(Float leadScore, ScrollPosition posicao, Sort sort, Limit limit);
+
+  Window<Cliente> findAllByLeadScoreLessThanEqual(Float leadScore, ScrollPosition posicao, Sort sort, Limit limit);
+
+  // Próximo lote de clientes após o último id lido (keyset), usado na exportação em streaming
+  List<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Lote da exportação assíncrona: keyset por id com os filtros opcionais do pedido
+  @Query("select c from Cliente c where c.id > :ultimoId "
+      + "and (:tipoPessoa is null or c.tipoPessoa = :tipoPessoa) "
+      + "and (:leadScoreMinimo is null or c.leadScore >= :leadScoreMinimo) "
+      + "order by c.id")
+  List<Cliente> findParaExportacao(@Param("ultimoId") Long ultimoId, @Param("tipoPessoa") TipoPessoa tipoPessoa,
+      @Param("leadScoreMinimo") Float leadScoreMinimo, Limit limit);
+
+  // Listagem em NDJSON: cursor do banco lido em blocos do fetch size, sem snapshots das entidades (somente leitura).
+  // No MySQL o driver só usa o fetch size com useCursorFetch=true na URL; sem isso traz o resultado inteiro.
+  @QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+  @Query("select c from Cliente c order by c.id")
+  Stream<Cliente> streamAll();
+
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+  @Query("select new com.generation.crm_backend.dto.ClienteResumo(c.id, c.nome, c.email, c.telefone, c.tipoPessoa, c.leadScore) "
+      + "from Cliente c order by c.id")
+  Stream<ClienteResumo> streamAllResumo();
+
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.generation.crm_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.generation.crm_backend.model.Exportacao;
+import com.generation.crm_backend.model.Exportacao.Situacao;
+
+public interface ExportacaoRepository extends JpaRepository<Exportacao, Long> {
+
+	// Jobs sem progresso desde o limite: nunca iniciados ou interrompidos junto com a instância que os executava
+	@Query("select e.id from Exportacao e where e.situacao in :situacoes and e.atualizadaEm < :limite order by e.id")
+	List<Long> findIdsParaRetomar(@Param("situacoes") Collection<Situacao> situacoes,
+			@Param("limite") LocalDateTime limite);
+
+	// Só uma execução vence: a que leu o número de execução atual
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Exportacao e set e.situacao = :emExecucao, e.execucao = e.execucao + 1, e.atualizadaEm = :agora "
+			+ "where e.id = :id and e.execucao = :execucaoLida and e.situacao in :situacoes")
+	int assumir(@Param("id") Long id, @Param("execucaoLida") int execucaoLida,
+			@Param("situacoes") Collection<Situacao> situacoes, @Param("emExecucao") Situacao emExecucao,
+			@Param("agora") LocalDateTime agora);
+
+	// Falso quando outra execução assumiu o job depois desta
+	boolean existsByIdAndExecucao(Long id, int execucao);
+
+	// Zero linhas afetadas: outra execução assumiu o job e esta deve parar
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Exportacao e set e.ultimoId = :ultimoId, e.linhas = :linhas, e.bytes = :bytes, "
+			+ "e.atualizadaEm = :agora where e.id = :id and e.execucao = :execucao")
+	int registrarProgresso(@Param("id") Long id, @Param("execucao") int execucao, @Param("ultimoId") long ultimoId,
+			@Param("linhas") long linhas, @Param("bytes") long bytes, @Param("agora") LocalDateTime agora);
+
+	@Transactional
+	@Modifying(clearAutomatically = true)
+	@Query("update Exportacao e set e.situacao = :situacao, e.erro = :erro, e.concluidaEm = :agora, "
+			+ "e.atualizadaEm = :agora where e.id = :id and e.execucao = :execucao")
+	int finalizar(@Param("id") Long id, @Param("execucao") int execucao, @Param("situacao") Situacao situacao,
+			@Param("erro") String erro, @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,58 @@
+package com.generation.crm_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.generation.crm_backend.dto.TempoNoStatus;
+import com.generation.crm_backend.dto.TransicaoResumo;
+import com.generation.crm_backend.model.HistoricoStatus;
+
+// Todas as consultas filtram por oportunidade ou por intervalo de data_transicao, cobertos pelos índices da V5
+public interface HistoricoStatusRepository extends JpaRepository<HistoricoStatus, Long> {
+
+	List<HistoricoStatus> findByOportunidadeIdOrderByDataTransicaoAscIdAsc(Long oportunidadeId);
+
+	Optional<HistoricoStatus> findFirstByOportunidadeIdOrderByDataTransicaoDescIdDesc(Long oportunidadeId);
+
+	// Última transição de cada oportunidade (empates na data são resolvidos pelo maior id no serviço)
+	@Query("select h from HistoricoStatus h where h.oportunidadeId in :ids and h.dataTransicao = "
+			+ "(select max(h2.dataTransicao) from HistoricoStatus h2 where h2.oportunidadeId = h.oportunidadeId)")
+	List<HistoricoStatus> findUltimosPorOportunidade(@Param("ids") Collection<Long> ids);
+
+	// Slice em vez de Page: sem count(*) sobre milhões de linhas
+	Slice<HistoricoStatus> findByDataTransicaoGreaterThanEqualAndDataTransicaoLessThan(LocalDateTime inicio,
+			LocalDateTime fim, Pageable pageable);
+
+	@Query("select new com.generation.crm_backend.dto.TempoNoStatus(h.statusAnterior, count(h), "
+			+ "avg(h.duracaoStatusAnteriorSegundos), max(h.duracaoStatusAnteriorSegundos)) "
+			+ "from HistoricoStatus h "
+			+ "where h.dataTransicao >= :inicio and h.dataTransicao < :fim "
+			+ "and h.statusAnterior is not null and h.duracaoStatusAnteriorSegundos is not null "
+			+ "group by h.statusAnterior")
+	List<TempoNoStatus> agregarTempoPorStatus(@Param("inicio") LocalDateTime inicio,
+			@Param("fim") LocalDateTime fim);
+
+	@Query("select new com.generation.crm_backend.dto.TransicaoResumo(h.statusAnterior, h.statusNovo, count(h), "
+			+ "sum(h.duracaoStatusAnteriorSegundos), count(h.duracaoStatusAnteriorSegundos)) "
+			+ "from HistoricoStatus h "
+			+ "where h.dataTransicao >= :inicio and h.dataTransicao < :fim and h.statusAnterior is not null "
+			+ "group by h.statusAnterior, h.statusNovo")
+	List<TransicaoResumo> agregarTransicoes(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+	// Histórico inteiro, sem período: usado na reconstrução do funil
+	@Query("select new com.generation.crm_backend.dto.TransicaoResumo(h.statusAnterior, h.statusNovo, count(h), "
+			+ "sum(h.duracaoStatusAnteriorSegundos), count(h.duracaoStatusAnteriorSegundos)) "
+			+ "from HistoricoStatus h "
+			+ "where h.statusAnterior is not null "
+			+ "group by h.statusAnterior, h.statusNovo")
+	List<TransicaoResumo> agregarTodasTransicoes();
+
+}
@@ -1,22 +1,143 @@
 package com.generation.crm_backend.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.dto.PipelinePorCliente;
+import com.generation.crm_backend.dto.PipelinePorStatus;
+import com.generation.crm_backend.dto.PipelinePorUsuario;
+import com.generation.crm_backend.dto.PipelineUsuarioStatus;
 import com.generation.crm_backend.model.Oportunidade;
 import com.generation.crm_backend.model.StatusOportunidade;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+// Cliente e usuário são LAZY na entidade; as consultas usadas pelos endpoints trazem os dois no mesmo select (fetch join)
 @Repository
-public interface OportunidadeRepository extends JpaRepository<Oportunidade, Long> {
+public interface OportunidadeRepository extends JpaRepository<Oportunidade, Long>, JpaSpecificationExecutor<Oportunidade>,
+		OportunidadeResumoBusca {
+
+	@Override
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
+	List<Oportunidade> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
+	Optional<Oportunidade> findById(Long id);
+
+	@Override
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
+	Page<Oportunidade> findAll(Specification<Oportunidade> spec, Pageable pageable);
 
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
 	List<Oportunidade> findByStatus(StatusOportunidade status);
 
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
 	List<Oportunidade> findByClienteId(Long idCliente); //alteracao de findByIdCliente
 
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
 	List<Oportunidade> findByUsuarioId(Long idUsuario); //alteracao de findByIdUsuario
 
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
 	List<Oportunidade> findAllByTituloContainingIgnoreCase(String titulo);
 
-}
\ No newline at end of file
+	// Listagem resumida: só id/nome de cliente e usuário, sem carregar as entidades
+	@Query("select new com.generation.crm_backend.dto.OportunidadeResumo(o.id, o.titulo, o.valorEstimado, o.status, o.dataCriacao, c.id, c.nome, u.id, u.nome) "
+			+ "from Oportunidade o join o.cliente c join o.usuario u")
+	List<OportunidadeResumo> findAllResumo();
+
+	// Agregados do funil calculados no banco (group by sobre os índices da migração V4), sem trafegar as oportunidades
+
+	@Query("select new com.generation.crm_backend.dto.PipelinePorStatus(o.status, count(o), sum(o.valorEstimado)) "
+			+ "from Oportunidade o group by o.status")
+	List<PipelinePorStatus> agregarPorStatus();
+
+	@Query("select new com.generation.crm_backend.dto.PipelineUsuarioStatus(o.usuario.id, o.status, count(o), sum(o.valorEstimado)) "
+			+ "from Oportunidade o group by o.usuario.id, o.status")
+	List<PipelineUsuarioStatus> agregarPorUsuarioEStatus();
+
+	@Query("select new com.generation.crm_backend.dto.PipelinePorUsuario(u.id, u.nome, count(o), sum(o.valorEstimado)) "
+			+ "from Oportunidade o join o.usuario u "
+			+ "where (:status is null or o.status = :status) "
+			+ "group by u.id, u.nome "
+			+ "order by sum(o.valorEstimado) desc")
+	List<PipelinePorUsuario> agregarPorUsuario(@Param("status") StatusOportunidade status);
+
+	@Query(value = "select new com.generation.crm_backend.dto.PipelinePorCliente(c.id, c.nome, count(o), sum(o.valorEstimado)) "
+			+ "from Oportunidade o join o.cliente c "
+			+ "where (:status is null or o.status = :status) "
+			+ "group by c.id, c.nome "
+			+ "order by sum(o.valorEstimado) desc, c.id",
+			countQuery = "select count(distinct o.cliente.id) from Oportunidade o "
+					+ "where (:status is null or o.status = :status)")
+	Page<PipelinePorCliente> agregarPorCliente(@Param("status") StatusOportunidade status, Pageable pageable);
+
+	// Troca de status em um único UPDATE, que só altera a linha se o status (e a versão, quando informada) ainda for o
+	// que foi validado; 0 indica que outra transação mudou a oportunidade nesse intervalo.
+	// clearAutomatically descarta as instâncias carregadas, que ficam desatualizadas após o UPDATE.
+	@Modifying(clearAutomatically = true)
+	@Query("update Oportunidade o set o.status = :novoStatus, o.versao = o.versao + 1 "
+			+ "where o.id = :id and o.status = :statusAtual and (:versao is null or o.versao = :versao)")
+	int atualizarStatusSeInalterado(@Param("id") Long id, @Param("statusAtual") StatusOportunidade statusAtual,
+			@Param("novoStatus") StatusOportunidade novoStatus, @Param("versao") Long versao);
+
+	// Transição em lote: as linhas são lidas com select ... for update, em ordem de id para que lotes concorrentes não
+	// entrem em deadlock, e o status lido é o mesmo que os UPDATEs abaixo encontram
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select o from Oportunidade o where o.id in :ids order by o.id")
+	List<Oportunidade> findAllParaTransicao(@Param("ids") Collection<Long> ids);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select o from Oportunidade o "
+			+ "where o.status = :status and (:criadaAntesDe is null or o.dataCriacao < :criadaAntesDe) "
+			+ "order by o.id")
+	List<Oportunidade> findParaTransicao(@Param("status") StatusOportunidade status,
+			@Param("criadaAntesDe") LocalDate criadaAntesDe, Pageable pageable);
+
+	// Um UPDATE por status de origem e bloco de IDs
+	@Modifying(clearAutomatically = true)
+	@Query("update Oportunidade o set o.status = :novoStatus, o.versao = o.versao + 1 "
+			+ "where o.id in :ids and o.status = :statusAtual")
+	int atualizarStatusEmLote(@Param("ids") Collection<Long> ids, @Param("statusAtual") StatusOportunidade statusAtual,
+			@Param("novoStatus") StatusOportunidade novoStatus);
+
+	// Lote da exportação assíncrona: keyset por id, já na forma resumida (sem carregar cliente e usuário)
+	@Query("select new com.generation.crm_backend.dto.OportunidadeResumo(o.id, o.titulo, o.valorEstimado, o.status, o.dataCriacao, c.id, c.nome, u.id, u.nome) "
+			+ "from Oportunidade o join o.cliente c join o.usuario u "
+			+ "where o.id > :ultimoId and (:status is null or o.status = :status) order by o.id")
+	List<OportunidadeResumo> findParaExportacao(@Param("ultimoId") Long ultimoId,
+			@Param("status") StatusOportunidade status, Pageable pageable);
+
+	// Listagem em NDJSON: cursor do banco lido em blocos do fetch size (no MySQL, só com useCursorFetch=true na URL)
+	@EntityGraph(attributePaths = { "cliente", "usuario" })
+	@QueryHints({ @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+			@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+	@Query("select o from Oportunidade o order by o.id")
+	Stream<Oportunidade> streamAll();
+
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select new com.generation.crm_backend.dto.OportunidadeResumo(o.id, o.titulo, o.valorEstimado, o.status, o.dataCriacao, c.id, c.nome, u.id, u.nome) "
+			+ "from Oportunidade o join o.cliente c join o.usuario u order by o.id")
+	Stream<OportunidadeResumo> streamAllResumo();
+
+}
@@ -0,0 +1,14 @@
+package com.generation.crm_backend.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.model.Oportunidade;
+
+// Busca filtrada na visão resumida; o JpaSpecificationExecutor só devolve entidades
+public interface OportunidadeResumoBusca {
+
+	Page<OportunidadeResumo> findResumo(Specification<Oportunidade> spec, Pageable pageable);
+}
@@ -0,0 +1,70 @@
+package com.generation.crm_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.Usuario;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Mesmo select new de findAllResumo, montado com Criteria para aceitar os filtros de OportunidadeSpecifications
+class OportunidadeResumoBuscaImpl implements OportunidadeResumoBusca {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<OportunidadeResumo> findResumo(Specification<Oportunidade> spec, Pageable pageable) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+		CriteriaQuery<OportunidadeResumo> query = cb.createQuery(OportunidadeResumo.class);
+		Root<Oportunidade> root = query.from(Oportunidade.class);
+		Join<Oportunidade, Cliente> cliente = root.join("cliente");
+		Join<Oportunidade, Usuario> usuario = root.join("usuario");
+		query.select(cb.construct(OportunidadeResumo.class, root.get("id"), root.get("titulo"),
+				root.get("valorEstimado"), root.get("status"), root.get("dataCriacao"), cliente.get("id"),
+				cliente.get("nome"), usuario.get("id"), usuario.get("nome")));
+		Predicate filtro = spec == null ? null : spec.toPredicate(root, query, cb);
+		if (filtro != null) {
+			query.where(filtro);
+		}
+		query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<OportunidadeResumo> typedQuery = entityManager.createQuery(query);
+		if (pageable.isPaged()) {
+			typedQuery.setFirstResult((int) pageable.getOffset());
+			typedQuery.setMaxResults(pageable.getPageSize());
+		}
+		List<OportunidadeResumo> conteudo = typedQuery.getResultList();
+
+		return PageableExecutionUtils.getPage(conteudo, pageable, () -> contar(spec));
+	}
+
+	// Cliente e usuário são obrigatórios, então o count dispensa os joins
+	private long contar(Specification<Oportunidade> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Oportunidade> root = query.from(Oportunidade.class);
+		query.select(cb.count(root));
+		Predicate filtro = spec == null ? null : spec.toPredicate(root, query, cb);
+		if (filtro != null) {
+			query.where(filtro);
+		}
+		return entityManager.createQuery(query).getSingleResult();
+	}
+}
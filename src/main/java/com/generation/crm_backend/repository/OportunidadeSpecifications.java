@@ -0,0 +1,74 @@
+package com.generation.crm_backend.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+
+// Critérios da busca de oportunidades; cada método retorna null quando o filtro não foi informado
+public final class OportunidadeSpecifications {
+
+	private OportunidadeSpecifications() {
+	}
+
+	public static Specification<Oportunidade> comFiltro(OportunidadeFiltroDTO filtro) {
+		return Specification.where(comStatus(filtro.status()))
+				.and(doCliente(filtro.clienteId()))
+				.and(doUsuario(filtro.usuarioId()))
+				.and(comValorMinimo(filtro.valorMinimo()))
+				.and(comValorMaximo(filtro.valorMaximo()))
+				.and(criadaAPartirDe(filtro.dataInicio()))
+				.and(criadaAte(filtro.dataFim()))
+				.and(comTituloContendo(filtro.titulo()));
+	}
+
+	public static Specification<Oportunidade> comStatus(StatusOportunidade status) {
+		return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+	}
+
+	// Compara direto a chave estrangeira, sem join com tb_clientes
+	public static Specification<Oportunidade> doCliente(Long clienteId) {
+		return clienteId == null ? null : (root, query, cb) -> cb.equal(root.get("cliente").get("id"), clienteId);
+	}
+
+	public static Specification<Oportunidade> doUsuario(Long usuarioId) {
+		return usuarioId == null ? null : (root, query, cb) -> cb.equal(root.get("usuario").get("id"), usuarioId);
+	}
+
+	public static Specification<Oportunidade> comValorMinimo(BigDecimal valorMinimo) {
+		return valorMinimo == null ? null
+				: (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("valorEstimado"), valorMinimo);
+	}
+
+	public static Specification<Oportunidade> comValorMaximo(BigDecimal valorMaximo) {
+		return valorMaximo == null ? null
+				: (root, query, cb) -> cb.lessThanOrEqualTo(root.get("valorEstimado"), valorMaximo);
+	}
+
+	public static Specification<Oportunidade> criadaAPartirDe(LocalDate dataInicio) {
+		return dataInicio == null ? null
+				: (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataCriacao"), dataInicio);
+	}
+
+	public static Specification<Oportunidade> criadaAte(LocalDate dataFim) {
+		return dataFim == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataCriacao"), dataFim);
+	}
+
+	public static Specification<Oportunidade> comTituloContendo(String titulo) {
+		if (!StringUtils.hasText(titulo)) {
+			return null;
+		}
+		// upper(titulo), como nas consultas derivadas IgnoreCase, para usar o índice de trigramas da migração V2
+		String padrao = "%" + escaparLike(titulo.trim().toUpperCase()) + "%";
+		return (root, query, cb) -> cb.like(cb.upper(root.get("titulo")), padrao, '\\');
+	}
+
+	private static String escaparLike(String texto) {
+		return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
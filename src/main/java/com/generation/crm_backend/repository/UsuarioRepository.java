@@ -1,14 +1,27 @@
 package com.generation.crm_backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.generation.crm_backend.dto.UsuarioResumo;
 import com.generation.crm_backend.model.Usuario;
 
+import jakarta.persistence.QueryHint;
+
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>{
 
+	// Resultado guardado no cache de consultas do Hibernate; a entidade em si vem do cache de Usuario
+	@QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
 	public Optional<Usuario> findByEmailIgnoreCase(String email); 
+
+	// Listagem resumida: não lê senha, foto nem oportunidades
+	@Query("select new com.generation.crm_backend.dto.UsuarioResumo(u.id, u.nome, u.email, u.cargo) from Usuario u")
+	public List<UsuarioResumo> findAllResumo();
 	
 	
 }
\ No newline at end of file
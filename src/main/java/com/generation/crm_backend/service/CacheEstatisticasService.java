@@ -0,0 +1,61 @@
+package com.generation.crm_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import com.generation.crm_backend.dto.CacheAplicacaoEstatisticas;
+import com.generation.crm_backend.dto.CacheRegiaoEstatisticas;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CacheEstatisticasService {
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  // Regiões do cache de segundo nível do Hibernate (entidades e consultas); exige hibernate.generate_statistics
+  public List<CacheRegiaoEstatisticas> getEstatisticasSegundoNivel() {
+    Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    List<CacheRegiaoEstatisticas> regioes = new ArrayList<>();
+    if (!estatisticas.isStatisticsEnabled()) {
+      return regioes;
+    }
+
+    for (String nome : estatisticas.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics regiao = estatisticas.getCacheRegionStatistics(nome);
+      if (regiao != null) {
+        regioes.add(new CacheRegiaoEstatisticas(nome, regiao.getHitCount(), regiao.getMissCount(),
+            regiao.getPutCount(), regiao.getElementCountInMemory()));
+      }
+    }
+    return regioes;
+  }
+
+  // Caches Caffeine da aplicação (buscas de clientes por identificador), com taxa de acerto e despejos
+  public List<CacheAplicacaoEstatisticas> getEstatisticasAplicacao() {
+    List<CacheAplicacaoEstatisticas> caches = new ArrayList<>();
+    for (String nome : cacheManager.getCacheNames()) {
+      Cache cache = cacheManager.getCache(nome);
+      if (cache != null
+          && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativo) {
+        CacheStats stats = nativo.stats();
+        caches.add(new CacheAplicacaoEstatisticas(nome, stats.hitCount(), stats.missCount(), stats.hitRate(),
+            stats.evictionCount(), nativo.estimatedSize()));
+      }
+    }
+    return caches;
+  }
+}
@@ -0,0 +1,118 @@
+package com.generation.crm_backend.service;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import com.generation.crm_backend.config.CacheConfig;
+import com.generation.crm_backend.model.Cliente;
+
+// Cache de leitura (read-through) dos clientes buscados por CPF, CNPJ, e-mail e telefone,
+// com a chave já normalizada e invalidação pelas escritas do ClienteService e da importação
+@Component
+public class ClienteCache {
+
+  public enum Identificador {
+    CPF(CacheConfig.CLIENTES_POR_CPF),
+    CNPJ(CacheConfig.CLIENTES_POR_CNPJ),
+    EMAIL(CacheConfig.CLIENTES_POR_EMAIL),
+    TELEFONE(CacheConfig.CLIENTES_POR_TELEFONE);
+
+    private final String nomeCache;
+
+    Identificador(String nomeCache) {
+      this.nomeCache = nomeCache;
+    }
+
+    public String getNomeCache() {
+      return nomeCache;
+    }
+
+    // Documentos e telefone só com dígitos (como são gravados); e-mail sem espaços e em minúsculas
+    String normalizar(String valor) {
+      if (valor == null) {
+        return null;
+      }
+      return this == EMAIL ? valor.trim().toLowerCase(Locale.ROOT) : valor.replaceAll("[^0-9]", "");
+    }
+  }
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  // Incrementada a cada invalidação; o resultado de uma consulta iniciada antes dela não entra no cache
+  private final AtomicLong geracao = new AtomicLong();
+
+  // Consulta o banco só na falta; a ausência de cliente também é guardada (cache negativo).
+  // A consulta roda fora do lock do cache: com get(chave, loader) o JDBC aconteceria dentro do synchronized do
+  // ConcurrentHashMap.compute e prenderia (pinning) a thread portadora quando a requisição roda em thread virtual.
+  @SuppressWarnings("unchecked")
+  public Optional<Cliente> buscar(Identificador identificador, String valor,
+      Function<String, Optional<Cliente>> consulta) {
+    String chave = identificador.normalizar(valor);
+    if (!StringUtils.hasText(chave)) {
+      return Optional.empty();
+    }
+
+    Cache cache = cache(identificador);
+    Cache.ValueWrapper emCache = cache.get(chave);
+    if (emCache != null) {
+      return Optional.ofNullable((Cliente) emCache.get());
+    }
+
+    long geracaoDaConsulta = geracao.get();
+    Cliente cliente = consulta.apply(chave).orElse(null);
+    Object valorEmCache = cliente != null ? cliente : NullValue.INSTANCE;
+    // Atômico em relação ao evict: uma invalidação concorrente descarta o valor em vez de ser sobrescrita por ele
+    ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache()).asMap()
+        .compute(chave, (k, atual) -> geracao.get() == geracaoDaConsulta ? valorEmCache : atual);
+    return Optional.ofNullable(cliente);
+  }
+
+  public void invalidar(Cliente cliente) {
+    invalidar(cliente.getEmail(), cliente.getTelefone(), cliente.getCpf(), cliente.getCnpj());
+  }
+
+  // Com transação ativa, remove só depois do commit: antes disso outra requisição recarregaria o valor antigo
+  public void invalidar(String email, String telefone, String cpf, String cnpj) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          remover(email, telefone, cpf, cnpj);
+        }
+      });
+    } else {
+      remover(email, telefone, cpf, cnpj);
+    }
+  }
+
+  private void remover(String email, String telefone, String cpf, String cnpj) {
+    geracao.incrementAndGet();
+    remover(Identificador.EMAIL, email);
+    remover(Identificador.TELEFONE, telefone);
+    remover(Identificador.CPF, cpf);
+    remover(Identificador.CNPJ, cnpj);
+  }
+
+  private void remover(Identificador identificador, String valor) {
+    String chave = identificador.normalizar(valor);
+    if (StringUtils.hasText(chave)) {
+      cache(identificador).evict(chave);
+    }
+  }
+
+  private Cache cache(Identificador identificador) {
+    return cacheManager.getCache(identificador.getNomeCache());
+  }
+}
@@ -0,0 +1,365 @@
+package com.generation.crm_backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.generation.crm_backend.dto.ClienteIdentificadores;
+import com.generation.crm_backend.dto.ClienteRequestDTO;
+import com.generation.crm_backend.dto.ImportacaoClientesRelatorio;
+import com.generation.crm_backend.dto.ImportacaoLinhaResultado;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.repository.ClienteRepository;
+import com.generation.crm_backend.service.ClienteService.DocumentosValidados;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.bean.HeaderColumnNameMappingStrategy;
+import com.opencsv.exceptions.CsvException;
+
+import io.micrometer.observation.annotation.Observed;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Importação de clientes em lote: lê o arquivo em streaming, valida cada linha com as mesmas regras do cadastro
+// e grava em lotes JDBC, cada lote na sua própria transação
+@Service
+@Observed(name = "crm.servico")
+public class ClienteImportacaoService {
+
+  private static final Logger log = LoggerFactory.getLogger(ClienteImportacaoService.class);
+
+  private static final int TAMANHO_LOTE = 500;
+
+  // Inserção direta via JDBC: com id IDENTITY o Hibernate não agrupa inserts, o driver sim
+  private static final String SQL_INSERT = "insert into tb_clientes "
+      + "(nome, email, foto, telefone, tipo_pessoa, cpf, cnpj, lead_score, created_at, updated_at, versao) "
+      + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+  @Autowired
+  private ClienteRepository clienteRepository;
+
+  @Autowired
+  private ClienteCache clienteCache;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private Validator validator;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private record LinhaImportacao(long linha, ClienteRequestDTO dados) {
+  }
+
+  private record ClienteValidado(long linha, String nome, String email, String foto, String telefone,
+      TipoPessoa tipoPessoa, String cpf, String cnpj, Float leadScore) {
+  }
+
+  // Usa as colunas @CsvBindByName de Cliente ("Nome Cliente", "Email", "Telefone", "CPF", "CNPJ", ...)
+  public ImportacaoClientesRelatorio importarCsv(Reader reader) throws IOException {
+    Relatorio relatorio = new Relatorio();
+    List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE);
+
+    HeaderColumnNameMappingStrategy<Cliente> estrategia = new HeaderColumnNameMappingStrategy<>();
+    estrategia.setType(Cliente.class);
+
+    try (CSVReader leitor = new CSVReaderBuilder(reader).build()) {
+      try {
+        estrategia.captureHeader(leitor);
+      } catch (CsvException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cabeçalho do CSV inválido: " + e.getMessage());
+      }
+
+      String[] registro;
+      while ((registro = lerRegistro(leitor, relatorio)) != null) {
+        long linha = leitor.getRecordsRead();
+        try {
+          lote.add(new LinhaImportacao(linha, paraRequisicao(estrategia.populateNewBean(registro))));
+        } catch (CsvException | RuntimeException e) {
+          relatorio.rejeitar(linha, "Linha inválida: " + e.getMessage());
+        }
+
+        if (lote.size() == TAMANHO_LOTE) {
+          processarLote(lote, relatorio);
+          lote.clear();
+        }
+      }
+    }
+
+    processarLote(lote, relatorio);
+    return relatorio.concluir("CSV");
+  }
+
+  // Um objeto JSON de ClienteRequestDTO por linha
+  public ImportacaoClientesRelatorio importarNdjson(Reader reader) throws IOException {
+    Relatorio relatorio = new Relatorio();
+    List<LinhaImportacao> lote = new ArrayList<>(TAMANHO_LOTE);
+    ObjectReader leitorJson = objectMapper.readerFor(ClienteRequestDTO.class);
+
+    try (BufferedReader leitor = new BufferedReader(reader)) {
+      String conteudo;
+      long linha = 0;
+      while ((conteudo = leitor.readLine()) != null) {
+        linha++;
+        if (!StringUtils.hasText(conteudo)) {
+          continue;
+        }
+
+        try {
+          lote.add(new LinhaImportacao(linha, leitorJson.readValue(conteudo)));
+        } catch (JsonProcessingException e) {
+          relatorio.rejeitar(linha, "JSON inválido: " + e.getOriginalMessage());
+        }
+
+        if (lote.size() == TAMANHO_LOTE) {
+          processarLote(lote, relatorio);
+          lote.clear();
+        }
+      }
+    }
+
+    processarLote(lote, relatorio);
+    return relatorio.concluir("NDJSON");
+  }
+
+  // Remove buscas sem resultado guardadas para os identificadores do cliente recém-gravado
+  private void invalidarCache(ClienteValidado cliente) {
+    clienteCache.invalidar(cliente.email(), cliente.telefone(), cliente.cpf(), cliente.cnpj());
+  }
+
+  private String[] lerRegistro(CSVReader leitor, Relatorio relatorio) throws IOException {
+    while (true) {
+      try {
+        return leitor.readNext();
+      } catch (CsvException e) {
+        relatorio.rejeitar(leitor.getRecordsRead(), "Linha inválida: " + e.getMessage());
+      }
+    }
+  }
+
+  private ClienteRequestDTO paraRequisicao(Cliente cliente) {
+    ClienteRequestDTO dados = new ClienteRequestDTO();
+    dados.setNome(cliente.getNome());
+    dados.setEmail(cliente.getEmail());
+    dados.setFoto(cliente.getFoto());
+    dados.setTelefone(cliente.getTelefone());
+    dados.setCpf(cliente.getCpf());
+    dados.setCnpj(cliente.getCnpj());
+    dados.setLeadScore(cliente.getLeadScore());
+    return dados;
+  }
+
+  private void processarLote(List<LinhaImportacao> lote, Relatorio relatorio) {
+    if (lote.isEmpty()) {
+      return;
+    }
+
+    List<ClienteValidado> candidatos = validarLote(lote, relatorio);
+    candidatos = descartarConflitosExistentes(candidatos, relatorio);
+    if (candidatos.isEmpty()) {
+      return;
+    }
+
+    TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+    try {
+      List<ClienteValidado> lotePronto = candidatos;
+      transacao.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_INSERT, lotePronto, lotePronto.size(),
+          this::preencherInsert));
+      candidatos.forEach(cliente -> {
+        relatorio.importar(cliente.linha());
+        invalidarCache(cliente);
+      });
+    } catch (DataAccessException e) {
+      // Algum registro violou uma restrição (ex.: cadastro concorrente); grava linha a linha para isolar o erro
+      log.debug("Lote de importação rejeitado pelo banco, gravando linha a linha", e);
+      candidatos.forEach(cliente -> gravarIndividualmente(transacao, cliente, relatorio));
+    }
+  }
+
+  private List<ClienteValidado> validarLote(List<LinhaImportacao> lote, Relatorio relatorio) {
+    List<ClienteValidado> candidatos = new ArrayList<>(lote.size());
+    Set<String> emails = new HashSet<>();
+    Set<String> telefones = new HashSet<>();
+    Set<String> documentos = new HashSet<>();
+
+    for (LinhaImportacao linha : lote) {
+      ClienteRequestDTO dados = linha.dados();
+
+      Set<ConstraintViolation<ClienteRequestDTO>> violacoes = validator.validate(dados);
+      if (!violacoes.isEmpty()) {
+        relatorio.rejeitar(linha.linha(), violacoes.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(" ")));
+        continue;
+      }
+
+      DocumentosValidados docs;
+      try {
+        docs = ClienteService.validarEPrepararDocumentos(dados, true);
+      } catch (ResponseStatusException e) {
+        relatorio.rejeitar(linha.linha(), e.getReason());
+        continue;
+      }
+
+      String email = dados.getEmail().trim();
+      String telefone = dados.getTelefone().trim().replaceAll("[^0-9]", "");
+      String documento = docs.cpf() != null ? docs.cpf() : docs.cnpj();
+
+      if (!emails.add(email.toUpperCase(Locale.ROOT))) {
+        relatorio.rejeitar(linha.linha(), "Email repetido no arquivo.");
+        continue;
+      }
+      if (!telefones.add(telefone)) {
+        relatorio.rejeitar(linha.linha(), "Telefone repetido no arquivo.");
+        continue;
+      }
+      if (!documentos.add(documento)) {
+        relatorio.rejeitar(linha.linha(), docs.cpf() != null ? "CPF repetido no arquivo." : "CNPJ repetido no arquivo.");
+        continue;
+      }
+
+      candidatos.add(new ClienteValidado(linha.linha(), dados.getNome().trim(), email,
+          StringUtils.hasText(dados.getFoto()) ? dados.getFoto() : null, telefone,
+          docs.cpf() != null ? TipoPessoa.FISICA : TipoPessoa.JURIDICA, docs.cpf(), docs.cnpj(),
+          dados.getLeadScore()));
+    }
+    return candidatos;
+  }
+
+  // Uma consulta por lote para todos os identificadores, em vez de uma por linha
+  private List<ClienteValidado> descartarConflitosExistentes(List<ClienteValidado> candidatos, Relatorio relatorio) {
+    if (candidatos.isEmpty()) {
+      return candidatos;
+    }
+
+    List<ClienteIdentificadores> existentes = clienteRepository.findIdentificadoresExistentes(
+        valoresOuVazio(candidatos.stream().map(cliente -> cliente.email().toUpperCase(Locale.ROOT))),
+        valoresOuVazio(candidatos.stream().map(ClienteValidado::telefone)),
+        valoresOuVazio(candidatos.stream().map(ClienteValidado::cpf)),
+        valoresOuVazio(candidatos.stream().map(ClienteValidado::cnpj)));
+    if (existentes.isEmpty()) {
+      return candidatos;
+    }
+
+    Set<String> emails = existentes.stream().map(ClienteIdentificadores::email)
+        .map(email -> email.toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+    Set<String> telefones = existentes.stream().map(ClienteIdentificadores::telefone).collect(Collectors.toSet());
+    Set<String> cpfs = existentes.stream().map(ClienteIdentificadores::cpf).collect(Collectors.toSet());
+    Set<String> cnpjs = existentes.stream().map(ClienteIdentificadores::cnpj).collect(Collectors.toSet());
+
+    List<ClienteValidado> semConflito = new ArrayList<>(candidatos.size());
+    for (ClienteValidado cliente : candidatos) {
+      if (emails.contains(cliente.email().toUpperCase(Locale.ROOT))) {
+        relatorio.rejeitar(cliente.linha(), "Email já cadastrado.");
+      } else if (telefones.contains(cliente.telefone())) {
+        relatorio.rejeitar(cliente.linha(), "Telefone já cadastrado.");
+      } else if (cliente.cpf() != null && cpfs.contains(cliente.cpf())) {
+        relatorio.rejeitar(cliente.linha(), "CPF já cadastrado.");
+      } else if (cliente.cnpj() != null && cnpjs.contains(cliente.cnpj())) {
+        relatorio.rejeitar(cliente.linha(), "CNPJ já cadastrado.");
+      } else {
+        semConflito.add(cliente);
+      }
+    }
+    return semConflito;
+  }
+
+  // "in ()" não é válido em SQL; o valor vazio nunca coincide com um identificador gravado
+  private static Set<String> valoresOuVazio(Stream<String> valores) {
+    Set<String> conjunto = valores.filter(StringUtils::hasText).collect(Collectors.toSet());
+    return conjunto.isEmpty() ? Set.of("") : conjunto;
+  }
+
+  private void gravarIndividualmente(TransactionTemplate transacao, ClienteValidado cliente, Relatorio relatorio) {
+    try {
+      transacao.executeWithoutResult(status -> jdbcTemplate.update(SQL_INSERT, ps -> preencherInsert(ps, cliente)));
+      relatorio.importar(cliente.linha());
+      invalidarCache(cliente);
+    } catch (DataIntegrityViolationException e) {
+      String mensagem = ClienteService.mensagemDeUnicidade(e, "");
+      relatorio.rejeitar(cliente.linha(), mensagem != null ? mensagem : "Dados do cliente violam uma restrição do banco.");
+    } catch (DataAccessException e) {
+      relatorio.rejeitar(cliente.linha(), "Erro ao gravar o cliente: " + e.getMostSpecificCause().getMessage());
+    }
+  }
+
+  private void preencherInsert(PreparedStatement ps, ClienteValidado cliente) throws SQLException {
+    LocalDateTime agora = LocalDateTime.now();
+    ps.setString(1, cliente.nome());
+    ps.setString(2, cliente.email());
+    ps.setString(3, cliente.foto());
+    ps.setString(4, cliente.telefone());
+    ps.setString(5, cliente.tipoPessoa().name());
+    ps.setString(6, cliente.cpf());
+    ps.setString(7, cliente.cnpj());
+    if (cliente.leadScore() != null) {
+      ps.setFloat(8, cliente.leadScore());
+    } else {
+      ps.setNull(8, Types.REAL);
+    }
+    ps.setObject(9, agora);
+    ps.setObject(10, agora);
+  }
+
+  // Acumula o resultado de cada linha na ordem em que foi decidido
+  private static class Relatorio {
+
+    private final long inicio = System.nanoTime();
+    private final List<ImportacaoLinhaResultado> linhas = new ArrayList<>();
+    private long importadas;
+    private long rejeitadas;
+
+    void importar(long linha) {
+      importadas++;
+      linhas.add(new ImportacaoLinhaResultado(linha, true, "Cliente importado."));
+    }
+
+    void rejeitar(long linha, String mensagem) {
+      rejeitadas++;
+      linhas.add(new ImportacaoLinhaResultado(linha, false, mensagem));
+    }
+
+    ImportacaoClientesRelatorio concluir(String formato) {
+      long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+      linhas.sort((a, b) -> Long.compare(a.linha(), b.linha()));
+      log.info("Importação {} de clientes: {} gravados, {} rejeitados em {} ms", formato, importadas, rejeitadas,
+          duracaoMs);
+      return new ImportacaoClientesRelatorio(importadas + rejeitadas, importadas, rejeitadas, duracaoMs, linhas);
+    }
+  }
+}
@@ -1,32 +1,94 @@
 package com.generation.crm_backend.service;
 
-import java.nio.file.Files;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.generation.crm_backend.dto.ClienteConflitos;
 import com.generation.crm_backend.dto.ClienteRequestDTO;
+import com.generation.crm_backend.dto.ClienteResumo;
+import com.generation.crm_backend.dto.ExportacaoCsvResumo;
+import com.generation.crm_backend.dto.JanelaDTO;
 import com.generation.crm_backend.model.Cliente;
 import com.generation.crm_backend.model.Cliente.TipoPessoa;
 import com.generation.crm_backend.repository.ClienteRepository;
+import com.generation.crm_backend.repository.OportunidadeRepository;
+import com.generation.crm_backend.service.ClienteCache.Identificador;
+import com.opencsv.CSVWriter;
+import com.opencsv.bean.StatefulBeanToCsv;
+import com.opencsv.bean.StatefulBeanToCsvBuilder;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+
+import io.micrometer.observation.annotation.Observed;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
+@Observed(name = "crm.servico")
 @Transactional
 public class ClienteService {
 
+  private static final Logger log = LoggerFactory.getLogger(ClienteService.class);
+
+  // Quantidade de clientes lidos por consulta na exportação em streaming
+  private static final int TAMANHO_LOTE_EXPORTACAO = 1000;
+
+  // Id que nunca existe, usado quando não há cliente a ignorar na verificação de conflitos
+  private static final Long SEM_ID = -1L;
+
+  // Campos que podem ser usados na ordenação da paginação por cursor (não nulos e comparáveis)
+  private static final Set<String> CAMPOS_ORDENACAO_CURSOR = Set.of("id", "nome", "email", "tipoPessoa", "createdAt",
+      "updatedAt");
+
+  // leadScore é opcional: só serve de chave do cursor nas buscas que filtram por ele, onde os nulos já ficam de fora
+  private static final Set<String> CAMPOS_ORDENACAO_CURSOR_LEAD_SCORE = Set.of("id", "nome", "email", "tipoPessoa",
+      "leadScore", "createdAt", "updatedAt");
+
   @Autowired
   private ClienteRepository clienteRepository;
 
+  @Autowired
+  private ClienteCache clienteCache;
+
+  @Autowired
+  private EscritorNdjson escritorNdjson;
+
+  @Autowired
+  private OportunidadeRepository oportunidadeRepository;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
   @Transactional(readOnly = true)
   public Page<Cliente> getAll(int numeroPagina, int tamanhoPagina, String campoOrdenacao, String direcaoOrdenacao) {
 
@@ -44,11 +106,101 @@ public class ClienteService {
     return clienteRepository.findAll(pageable);
   }
   
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllResumo(int numeroPagina, int tamanhoPagina, String campoOrdenacao,
+      String direcaoOrdenacao) {
+
+    if (!StringUtils.hasText(campoOrdenacao)) {
+      campoOrdenacao = "id";
+    }
+
+    if (!StringUtils.hasText(direcaoOrdenacao)
+        || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
+      direcaoOrdenacao = "asc";
+    }
+
+    Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
+    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
+    return clienteRepository.findAllResumo(pageable);
+  }
+
   @Transactional(readOnly = true)
   public List<Cliente> getAllWithoutPagination() {
     return clienteRepository.findAll();
   }
 
+  // Exportação antiga: carrega a tabela inteira antes de escrever (mantida para comparação)
+  @Transactional(readOnly = true)
+  public ExportacaoCsvResumo exportarCsvEmMemoria(Writer writer)
+      throws IOException, CsvDataTypeMismatchException, CsvRequiredFieldEmptyException {
+    long inicio = System.nanoTime();
+
+    List<Cliente> clientes = getAllWithoutPagination();
+    long picoHeap = heapEmUso();
+    criarEscritorCsv(writer).write(clientes);
+    writer.flush();
+
+    return registrarExportacao("memoria", clientes.size(), inicio, Math.max(picoHeap, heapEmUso()));
+  }
+
+  // Exportação em streaming: lê os clientes em lotes por id (keyset), escreve cada lote direto na saída
+  // e limpa o contexto de persistência, mantendo o uso de memória limitado ao tamanho do lote
+  @Transactional(readOnly = true)
+  public ExportacaoCsvResumo exportarCsv(Writer writer)
+      throws IOException, CsvDataTypeMismatchException, CsvRequiredFieldEmptyException {
+    long inicio = System.nanoTime();
+    StatefulBeanToCsv<Cliente> escritorCsv = criarEscritorCsv(writer);
+
+    long linhas = 0;
+    long picoHeap = heapEmUso();
+    Long ultimoId = 0L;
+    List<Cliente> lote;
+
+    do {
+      lote = clienteRepository.findByIdGreaterThanOrderByIdAsc(ultimoId, Limit.of(TAMANHO_LOTE_EXPORTACAO));
+      if (lote.isEmpty()) {
+        break;
+      }
+
+      escritorCsv.write(lote);
+      writer.flush();
+
+      linhas += lote.size();
+      ultimoId = lote.get(lote.size() - 1).getId();
+      picoHeap = Math.max(picoHeap, heapEmUso());
+      entityManager.clear();
+    } while (lote.size() == TAMANHO_LOTE_EXPORTACAO);
+
+    return registrarExportacao("streaming", linhas, inicio, picoHeap);
+  }
+
+  // Listagem completa em NDJSON, em ordem de id: as linhas saem à medida que o cursor do banco avança
+  @Transactional(readOnly = true)
+  public long escreverNdjson(OutputStream saida, boolean resumo) throws IOException {
+    try (Stream<?> clientes = resumo ? clienteRepository.streamAllResumo() : clienteRepository.streamAll()) {
+      return escritorNdjson.escrever(clientes, saida);
+    }
+  }
+
+  private StatefulBeanToCsv<Cliente> criarEscritorCsv(Writer writer) {
+    return new StatefulBeanToCsvBuilder<Cliente>(writer)
+        .withSeparator(CSVWriter.DEFAULT_SEPARATOR)
+        .withOrderedResults(true)
+        .build();
+  }
+
+  private ExportacaoCsvResumo registrarExportacao(String modo, long linhas, long inicio, long picoHeap) {
+    long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+    ExportacaoCsvResumo resumo = new ExportacaoCsvResumo(modo, linhas, duracaoMs, picoHeap);
+    log.info("Exportação CSV de clientes ({}): {} linhas em {} ms ({} linhas/s), pico de heap {} MB",
+        modo, linhas, duracaoMs, resumo.linhasPorSegundo(), picoHeap / (1024 * 1024));
+    return resumo;
+  }
+
+  private static long heapEmUso() {
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
 
   @Transactional(readOnly = true)
   public Optional<Cliente> getById(Long id) {
@@ -58,31 +210,27 @@ public class ClienteService {
   @Transactional(readOnly = true)
   public Page<Cliente> getAllByNome(String nome, int numeroPagina, int tamanhoPagina, String campoOrdenacao,
       String direcaoOrdenacao) {
+    return clienteRepository.findAllByNomeContainingIgnoreCase(nome,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome"));
+  }
 
-    if (!StringUtils.hasText(campoOrdenacao)) {
-      campoOrdenacao = "nome";
-    }
-
-    if (!StringUtils.hasText(direcaoOrdenacao)
-        || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
-      direcaoOrdenacao = "asc";
-    }
-
-    Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
-    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
-    return clienteRepository.findAllByNomeContainingIgnoreCase(nome, pageable);
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllByNomeResumo(String nome, int numeroPagina, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findResumoByNomeContainingIgnoreCase(nome,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome"));
   }
 
   @Transactional(readOnly = true)
   public Cliente getByEmail(String email) {
-    return clienteRepository.findByEmailIgnoreCase(email)
+    return clienteCache.buscar(Identificador.EMAIL, email, clienteRepository::findByEmailIgnoreCase)
         .orElseThrow(
             () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado com o email: " + email));
   }
 
   @Transactional(readOnly = true)
   public Cliente getByTelefone(String telefone) {
-    return clienteRepository.findByTelefoneIgnoreCase(telefone)
+    return clienteCache.buscar(Identificador.TELEFONE, telefone, clienteRepository::findByTelefone)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
             "Cliente não encontrado com o telefone: " + telefone));
   }
@@ -91,30 +239,27 @@ public class ClienteService {
   public Page<Cliente> getAllByTipoPessoa(TipoPessoa tipoPessoa, int numeroPagina, int tamanhoPagina,
       String campoOrdenacao,
       String direcaoOrdenacao) {
-    if (!StringUtils.hasText(campoOrdenacao)) {
-      campoOrdenacao = "nome";
-    }
-
-    if (!StringUtils.hasText(direcaoOrdenacao)
-        || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
-      direcaoOrdenacao = "asc";
-    }
+    return clienteRepository.findAllByTipoPessoa(tipoPessoa,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome"));
+  }
 
-    Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
-    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
-    return clienteRepository.findAllByTipoPessoa(tipoPessoa, pageable);
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllByTipoPessoaResumo(TipoPessoa tipoPessoa, int numeroPagina, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findResumoByTipoPessoa(tipoPessoa,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome"));
   }
 
   @Transactional(readOnly = true)
   public Cliente getByCpf(String cpf) {
-    return clienteRepository.findByCpf(cpf.replaceAll("[^0-9]", ""))
+    return clienteCache.buscar(Identificador.CPF, cpf, clienteRepository::findByCpf)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
             "Cliente não encontrado com o CPF: " + cpf));
   }
 
   @Transactional(readOnly = true)
   public Cliente getByCnpj(String cnpj) {
-    return clienteRepository.findByCnpj(cnpj.replaceAll("[^0-9]", ""))
+    return clienteCache.buscar(Identificador.CNPJ, cnpj, clienteRepository::findByCnpj)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
             "Cliente não encontrado com o CNPJ: " + cnpj));
   }
@@ -122,52 +267,145 @@ public class ClienteService {
   @Transactional(readOnly = true)
   public Page<Cliente> getAllByLeadScore(Float leadScore, int numeroPagina, int tamanhoPagina, String campoOrdenacao,
       String direcaoOrdenacao) {
-    if (!StringUtils.hasText(campoOrdenacao)) {
-      campoOrdenacao = "leadScore";
-    }
-    if (!StringUtils.hasText(direcaoOrdenacao)
-        || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
-      direcaoOrdenacao = "asc";
-    }
-    Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
-    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
-    return clienteRepository.findAllByLeadScore(leadScore, pageable);
+    return clienteRepository.findAllByLeadScore(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllByLeadScoreResumo(Float leadScore, int numeroPagina, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findResumoByLeadScore(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
   }
 
   @Transactional(readOnly = true)
   public Page<Cliente> getAllByLeadScoreGreaterThanEqual(Float leadScore, int numeroPagina, int tamanhoPagina,
       String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findAllByLeadScoreGreaterThanEqual(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllByLeadScoreGreaterThanEqualResumo(Float leadScore, int numeroPagina,
+      int tamanhoPagina, String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findResumoByLeadScoreGreaterThanEqual(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<Cliente> getAllByLeadScoreLessThanEqual(Float leadScore, int numeroPagina, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findAllByLeadScoreLessThanEqual(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<ClienteResumo> getAllByLeadScoreLessThanEqualResumo(Float leadScore, int numeroPagina,
+      int tamanhoPagina, String campoOrdenacao, String direcaoOrdenacao) {
+    return clienteRepository.findResumoByLeadScoreLessThanEqual(leadScore,
+        paginaOrdenada(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore"));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllJanela(String cursor, int tamanhoPagina, String campoOrdenacao,
+      String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "id", CAMPOS_ORDENACAO_CURSOR,
+        (posicao, sort) -> clienteRepository.findAllBy(posicao, sort, Limit.of(tamanhoPagina)));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllByNomeJanela(String nome, String cursor, int tamanhoPagina, String campoOrdenacao,
+      String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome", CAMPOS_ORDENACAO_CURSOR,
+        (posicao, sort) -> clienteRepository.findAllByNomeContainingIgnoreCase(nome, posicao, sort,
+            Limit.of(tamanhoPagina)));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllByTipoPessoaJanela(TipoPessoa tipoPessoa, String cursor, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "nome", CAMPOS_ORDENACAO_CURSOR,
+        (posicao, sort) -> clienteRepository.findAllByTipoPessoa(tipoPessoa, posicao, sort, Limit.of(tamanhoPagina)));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllByLeadScoreJanela(Float leadScore, String cursor, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore",
+        CAMPOS_ORDENACAO_CURSOR_LEAD_SCORE,
+        (posicao, sort) -> clienteRepository.findAllByLeadScore(leadScore, posicao, sort, Limit.of(tamanhoPagina)));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllByLeadScoreGreaterThanEqualJanela(Float leadScore, String cursor, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore",
+        CAMPOS_ORDENACAO_CURSOR_LEAD_SCORE,
+        (posicao, sort) -> clienteRepository.findAllByLeadScoreGreaterThanEqual(leadScore, posicao, sort,
+            Limit.of(tamanhoPagina)));
+  }
+
+  @Transactional(readOnly = true)
+  public JanelaDTO<Cliente> getAllByLeadScoreLessThanEqualJanela(Float leadScore, String cursor, int tamanhoPagina,
+      String campoOrdenacao, String direcaoOrdenacao) {
+    return buscarJanela(cursor, tamanhoPagina, campoOrdenacao, direcaoOrdenacao, "leadScore",
+        CAMPOS_ORDENACAO_CURSOR_LEAD_SCORE,
+        (posicao, sort) -> clienteRepository.findAllByLeadScoreLessThanEqual(leadScore, posicao, sort,
+            Limit.of(tamanhoPagina)));
+  }
+
+  // Ordenação dos finders paginados: campo vazio usa o padrão do endpoint e direção inválida vira asc
+  private static Pageable paginaOrdenada(int numeroPagina, int tamanhoPagina, String campoOrdenacao,
+      String direcaoOrdenacao, String campoPadrao) {
     if (!StringUtils.hasText(campoOrdenacao)) {
-      campoOrdenacao = "leadScore";
+      campoOrdenacao = campoPadrao;
     }
     if (!StringUtils.hasText(direcaoOrdenacao)
         || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
       direcaoOrdenacao = "asc";
     }
     Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
-    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
-    return clienteRepository.findAllByLeadScoreGreaterThanEqual(leadScore, pageable);
+    return PageRequest.of(numeroPagina, tamanhoPagina, sort);
   }
 
-  @Transactional(readOnly = true)
-  public Page<Cliente> getAllByLeadScoreLessThanEqual(Float leadScore, int numeroPagina, int tamanhoPagina,
-      String campoOrdenacao, String direcaoOrdenacao) {
+  // O Spring Data acrescenta o id à ordenação, então o cursor sempre contém o campo de ordenação + id
+  private JanelaDTO<Cliente> buscarJanela(String cursor, int tamanhoPagina, String campoOrdenacao,
+      String direcaoOrdenacao, String campoPadrao, Set<String> camposPermitidos,
+      BiFunction<ScrollPosition, Sort, Window<Cliente>> consulta) {
+
+    if (tamanhoPagina < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O tamanho da página deve ser maior que zero.");
+    }
+
     if (!StringUtils.hasText(campoOrdenacao)) {
-      campoOrdenacao = "leadScore";
+      campoOrdenacao = campoPadrao;
     }
+    if (!camposPermitidos.contains(campoOrdenacao)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Campo de ordenação não suportado na paginação por cursor: " + campoOrdenacao);
+    }
+
     if (!StringUtils.hasText(direcaoOrdenacao)
         || (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
       direcaoOrdenacao = "asc";
     }
+
     Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
-    Pageable pageable = PageRequest.of(numeroPagina, tamanhoPagina, sort);
-    return clienteRepository.findAllByLeadScoreLessThanEqual(leadScore, pageable);
+    Set<String> camposCursor = campoOrdenacao.equals("id") ? Set.of("id") : Set.of(campoOrdenacao, "id");
+    ScrollPosition posicao = CursorKeyset.decodificar(cursor, Cliente.class, camposCursor);
+
+    Window<Cliente> janela = consulta.apply(posicao, sort);
+    String proximoCursor = janela.hasNext() && !janela.isEmpty()
+        ? CursorKeyset.codificar(janela.positionAt(janela.size() - 1))
+        : null;
+    return new JanelaDTO<>(janela.getContent(), janela.size(), janela.hasNext(), proximoCursor);
   }
 
-  private record DocumentosValidados(String cpf, String cnpj) {
+  record DocumentosValidados(String cpf, String cnpj) {
   }
 
-  private DocumentosValidados validarEPrepararDocumentos(ClienteRequestDTO dto, boolean isCreate) {
+  // Também usado pela importação em lote (ClienteImportacaoService)
+  static DocumentosValidados validarEPrepararDocumentos(ClienteRequestDTO dto, boolean isCreate) {
     String cpfRequest = dto.getCpf() != null ? dto.getCpf().replaceAll("[^0-9]", "") : null;
     String cnpjRequest = dto.getCnpj() != null ? dto.getCnpj().replaceAll("[^0-9]", "") : null;
 
@@ -203,33 +441,22 @@ public class ClienteService {
     cliente.setNome(clienteRequestDTO.getNome().trim());
     cliente.setFoto(clienteRequestDTO.getFoto());
 
-    if (StringUtils.hasText(clienteRequestDTO.getEmail())) {
-      String emailTrimmed = clienteRequestDTO.getEmail().trim();
-      if (clienteRepository.findByEmailIgnoreCase(emailTrimmed).isPresent()) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado.");
-      }
-      cliente.setEmail(emailTrimmed);
-    }
+    String emailTrimmed = StringUtils.hasText(clienteRequestDTO.getEmail()) ? clienteRequestDTO.getEmail().trim()
+        : null;
+    String telefoneTrimmed = StringUtils.hasText(clienteRequestDTO.getTelefone())
+        ? clienteRequestDTO.getTelefone().trim().replaceAll("[^0-9]", "")
+        : null;
 
-    if (StringUtils.hasText(clienteRequestDTO.getTelefone())) {
-      String telefoneTrimmed = clienteRequestDTO.getTelefone().trim().replaceAll("[^0-9]", "");
-      if (clienteRepository.findByTelefoneIgnoreCase(telefoneTrimmed).isPresent()) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Telefone já cadastrado.");
-      }
-      cliente.setTelefone(telefoneTrimmed);
-    }
+    verificarConflitos(emailTrimmed, telefoneTrimmed, cpfValidado, cnpjValidado, null, "");
+
+    cliente.setEmail(emailTrimmed);
+    cliente.setTelefone(telefoneTrimmed);
 
     if (cpfValidado != null) {
-      if (clienteRepository.findByCpf(cpfValidado).isPresent()) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF já cadastrado.");
-      }
       cliente.setCpf(cpfValidado);
       cliente.setTipoPessoa(TipoPessoa.FISICA);
       cliente.setCnpj(null);
     } else if (cnpjValidado != null) {
-      if (clienteRepository.findByCnpj(cnpjValidado).isPresent()) {
-        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CNPJ já cadastrado.");
-      }
       cliente.setCnpj(cnpjValidado);
       cliente.setTipoPessoa(TipoPessoa.JURIDICA);
       cliente.setCpf(null);
@@ -237,18 +464,43 @@ public class ClienteService {
 
     cliente.setLeadScore(clienteRequestDTO.getLeadScore());
 
-    return clienteRepository.save(cliente);
+    // Remove buscas sem resultado guardadas para os identificadores do novo cliente
+    clienteCache.invalidar(cliente);
+    return salvarComUnicidade(cliente, "");
   }
 
+  // Chamada interna não passa pelo proxy: a transação precisa ser aberta aqui
   @Transactional
   public Cliente update(Long id, ClienteRequestDTO clienteRequestDTO) {
+    return update(id, clienteRequestDTO, null);
+  }
+
+  // versaoEsperada vem do If-Match; sem ele, o @Version ainda barra alterações concorrentes entre a leitura e o flush
+  @Transactional
+  public Cliente update(Long id, ClienteRequestDTO clienteRequestDTO, Long versaoEsperada) {
     Cliente clienteExistente = clienteRepository.findById(id)
         .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado com o ID: " + id));
 
+    if (versaoEsperada != null && !versaoEsperada.equals(clienteExistente.getVersao())) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+          "O cliente com ID " + id + " está na versão " + clienteExistente.getVersao() + ", não na " + versaoEsperada + ".");
+    }
+
     DocumentosValidados docs = validarEPrepararDocumentos(clienteRequestDTO, false);
     String cpfValidado = docs.cpf();
     String cnpjValidado = docs.cnpj();
 
+    String emailNovo = clienteRequestDTO.getEmail() != null ? clienteRequestDTO.getEmail().trim() : null;
+    String telefoneNovo = clienteRequestDTO.getTelefone() != null
+        ? clienteRequestDTO.getTelefone().trim().replaceAll("[^0-9]", "")
+        : null;
+
+    // Valores do próprio cliente são ignorados pela consulta, então só conflitos com outros clientes são apontados
+    verificarConflitos(emailNovo, telefoneNovo, cpfValidado, cnpjValidado, id, " para outro cliente");
+
+    // Chaves antigas e novas: o cliente sai das buscas pelos valores que deixou de ter e entra nas dos novos
+    clienteCache.invalidar(clienteExistente);
+
     if (StringUtils.hasText(clienteRequestDTO.getNome())) {
       clienteExistente.setNome(clienteRequestDTO.getNome().trim());
     }
@@ -257,53 +509,19 @@ public class ClienteService {
       clienteExistente.setFoto(clienteRequestDTO.getFoto().isEmpty() ? null : clienteRequestDTO.getFoto());
     }
 
-    if (clienteRequestDTO.getEmail() != null) {
-      String emailNovo = clienteRequestDTO.getEmail().trim();
-      if (emailNovo.isEmpty()) {
-        clienteExistente.setEmail(null);
-      } else {
-        if (clienteExistente.getEmail() == null || !emailNovo.equalsIgnoreCase(clienteExistente.getEmail())) {
-          Optional<Cliente> clienteComMesmoEmail = clienteRepository.findByEmailIgnoreCase(emailNovo);
-          if (clienteComMesmoEmail.isPresent() && !clienteComMesmoEmail.get().getId().equals(id)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado para outro cliente.");
-          }
-        }
-        clienteExistente.setEmail(emailNovo);
-      }
+    if (emailNovo != null) {
+      clienteExistente.setEmail(emailNovo.isEmpty() ? null : emailNovo);
     }
 
-    if (clienteRequestDTO.getTelefone() != null) {
-      String telefoneNovo = clienteRequestDTO.getTelefone().trim().replaceAll("[^0-9]", "");
-      if (telefoneNovo.isEmpty()) {
-        clienteExistente.setTelefone(null);
-      } else {
-        if (clienteExistente.getTelefone() == null || !telefoneNovo.equalsIgnoreCase(clienteExistente.getTelefone())) {
-          Optional<Cliente> clienteComMesmoTelefone = clienteRepository.findByTelefoneIgnoreCase(telefoneNovo);
-          if (clienteComMesmoTelefone.isPresent() && !clienteComMesmoTelefone.get().getId().equals(id)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Telefone já cadastrado para outro cliente.");
-          }
-        }
-        clienteExistente.setTelefone(telefoneNovo);
-      }
+    if (telefoneNovo != null) {
+      clienteExistente.setTelefone(telefoneNovo.isEmpty() ? null : telefoneNovo);
     }
 
     if (cpfValidado != null) {
-      if (clienteExistente.getCpf() == null || !cpfValidado.equals(clienteExistente.getCpf())) {
-        Optional<Cliente> clienteComMesmoCpf = clienteRepository.findByCpf(cpfValidado);
-        if (clienteComMesmoCpf.isPresent() && !clienteComMesmoCpf.get().getId().equals(id)) {
-          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF já cadastrado para outro cliente.");
-        }
-      }
       clienteExistente.setCpf(cpfValidado);
       clienteExistente.setTipoPessoa(TipoPessoa.FISICA);
       clienteExistente.setCnpj(null);
     } else if (cnpjValidado != null) {
-      if (clienteExistente.getCnpj() == null || !cnpjValidado.equals(clienteExistente.getCnpj())) {
-        Optional<Cliente> clienteComMesmoCnpj = clienteRepository.findByCnpj(cnpjValidado);
-        if (clienteComMesmoCnpj.isPresent() && !clienteComMesmoCnpj.get().getId().equals(id)) {
-          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CNPJ já cadastrado para outro cliente.");
-        }
-      }
       clienteExistente.setCnpj(cnpjValidado);
       clienteExistente.setTipoPessoa(TipoPessoa.JURIDICA);
       clienteExistente.setCpf(null);
@@ -313,15 +531,90 @@ public class ClienteService {
       clienteExistente.setLeadScore(clienteRequestDTO.getLeadScore());
     }
 
-    return clienteRepository.save(clienteExistente);
+    clienteCache.invalidar(clienteExistente);
+    return salvarComUnicidade(clienteExistente, " para outro cliente");
+  }
+
+  // Uma única consulta informa quais identificadores já pertencem a outro cliente; valores vazios nunca conflitam
+  private void verificarConflitos(String email, String telefone, String cpf, String cnpj, Long idIgnorado,
+      String complementoMensagem) {
+    if (!StringUtils.hasText(email) && !StringUtils.hasText(telefone) && cpf == null && cnpj == null) {
+      return;
+    }
+
+    ClienteConflitos conflitos = clienteRepository.verificarConflitos(valorOuVazio(email), valorOuVazio(telefone),
+        valorOuVazio(cpf), valorOuVazio(cnpj), idIgnorado != null ? idIgnorado : SEM_ID);
+
+    if (conflitos.emailEmUso()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado" + complementoMensagem + ".");
+    }
+    if (conflitos.telefoneEmUso()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Telefone já cadastrado" + complementoMensagem + ".");
+    }
+    if (conflitos.cpfEmUso()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF já cadastrado" + complementoMensagem + ".");
+    }
+    if (conflitos.cnpjEmUso()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CNPJ já cadastrado" + complementoMensagem + ".");
+    }
+  }
+
+  // As constraints únicas de tb_clientes cobrem a corrida entre a verificação e o insert/update
+  private Cliente salvarComUnicidade(Cliente cliente, String complementoMensagem) {
+    try {
+      return clienteRepository.saveAndFlush(cliente);
+    } catch (DataIntegrityViolationException e) {
+      throw traduzirViolacaoDeUnicidade(e, complementoMensagem);
+    } catch (OptimisticLockingFailureException e) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "O cliente com ID " + cliente.getId()
+          + " foi alterado por outra requisição. Consulte o estado atual e tente novamente.");
+    }
+  }
+
+  private ResponseStatusException traduzirViolacaoDeUnicidade(DataIntegrityViolationException e,
+      String complementoMensagem) {
+    String mensagem = mensagemDeUnicidade(e, complementoMensagem);
+    if (mensagem != null) {
+      return new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagem);
+    }
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dados do cliente violam uma restrição do banco.", e);
+  }
+
+  // Mensagem de validação correspondente à constraint única violada, ou null se for outra restrição
+  static String mensagemDeUnicidade(DataIntegrityViolationException e, String complementoMensagem) {
+    String detalhe = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+    if (detalhe.contains(Cliente.UK_EMAIL)) {
+      return "Email já cadastrado" + complementoMensagem + ".";
+    }
+    if (detalhe.contains(Cliente.UK_TELEFONE)) {
+      return "Telefone já cadastrado" + complementoMensagem + ".";
+    }
+    if (detalhe.contains(Cliente.UK_CPF)) {
+      return "CPF já cadastrado" + complementoMensagem + ".";
+    }
+    if (detalhe.contains(Cliente.UK_CNPJ)) {
+      return "CNPJ já cadastrado" + complementoMensagem + ".";
+    }
+    return null;
+  }
+
+  private static String valorOuVazio(String valor) {
+    return valor != null ? valor : "";
   }
 
   @Transactional
   public void delete(Long id) {
-    if (!clienteRepository.existsById(id)) {
-      throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-          "Cliente não encontrado com o ID: " + id + " para exclusão.");
-    }
-    clienteRepository.deleteById(id);
+    Cliente cliente = clienteRepository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+            "Cliente não encontrado com o ID: " + id + " para exclusão."));
+    clienteCache.invalidar(cliente);
+    // A cascata remove as oportunidades do cliente sem passar pelo OportunidadeService: os eventos de exclusão
+    // mantêm as métricas do funil em dia. As entidades ficam no contexto e são reaproveitadas pela cascata.
+    List<OportunidadeEvento> exclusoes = oportunidadeRepository.findByClienteId(id).stream()
+        .map(oportunidade -> OportunidadeEvento.exclusao(oportunidade.getId(),
+            OportunidadeEvento.Estado.de(oportunidade)))
+        .toList();
+    clienteRepository.delete(cliente);
+    exclusoes.forEach(eventPublisher::publishEvent);
   }
 }
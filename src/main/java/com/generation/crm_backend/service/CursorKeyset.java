@@ -0,0 +1,80 @@
+package com.generation.crm_backend.service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+// Converte a posição keyset (valor do campo de ordenação + id do último item) em um cursor opaco e vice-versa
+final class CursorKeyset {
+
+  private CursorKeyset() {
+  }
+
+  static String codificar(ScrollPosition posicao) {
+    Map<String, Object> chaves = ((KeysetScrollPosition) posicao).getKeys();
+    String conteudo = chaves.entrySet().stream()
+        .filter(chave -> chave.getValue() != null)
+        .map(chave -> chave.getKey() + "=" + URLEncoder.encode(chave.getValue().toString(), StandardCharsets.UTF_8))
+        .collect(Collectors.joining("&"));
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // Cursor vazio representa o início da listagem
+  static KeysetScrollPosition decodificar(String cursor, Class<?> entidade, Set<String> camposEsperados) {
+    if (!StringUtils.hasText(cursor)) {
+      return ScrollPosition.keyset();
+    }
+
+    Map<String, Object> chaves = new LinkedHashMap<>();
+    try {
+      String conteudo = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      for (String par : conteudo.split("&")) {
+        int separador = par.indexOf('=');
+        String campo = par.substring(0, separador);
+        String valor = URLDecoder.decode(par.substring(separador + 1), StandardCharsets.UTF_8);
+        chaves.put(campo, converter(entidade.getDeclaredField(campo).getType(), valor));
+      }
+    } catch (RuntimeException | NoSuchFieldException e) {
+      throw cursorInvalido();
+    }
+
+    if (!chaves.keySet().equals(camposEsperados)) {
+      throw cursorInvalido();
+    }
+    return ScrollPosition.forward(chaves);
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Object converter(Class<?> tipo, String valor) {
+    if (tipo == Long.class) {
+      return Long.valueOf(valor);
+    }
+    if (tipo == Float.class) {
+      return Float.valueOf(valor);
+    }
+    if (tipo == LocalDateTime.class) {
+      return LocalDateTime.parse(valor);
+    }
+    if (tipo.isEnum()) {
+      return Enum.valueOf((Class) tipo, valor);
+    }
+    return valor;
+  }
+
+  private static ResponseStatusException cursorInvalido() {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "Cursor de paginação inválido. Reinicie a listagem sem cursor ou mantenha a mesma ordenação.");
+  }
+}
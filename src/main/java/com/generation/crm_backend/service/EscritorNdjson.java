@@ -0,0 +1,60 @@
+package com.generation.crm_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Escreve os itens de um Stream do repositório como NDJSON (um objeto por linha) à medida que o cursor avança.
+// Um único JsonGenerator por resposta, sem montar a lista nem um String por item; a cada bloco a saída é descarregada
+// (o cliente já recebe as primeiras linhas) e as entidades escritas são desanexadas, então o heap não cresce com o
+// tamanho do resultado. Deve ser chamado dentro da transação que abriu o Stream.
+@Component
+class EscritorNdjson {
+
+	private static final int LINHAS_POR_BLOCO = 500;
+
+	private final ObjectMapper objectMapper;
+
+	// Sem flush a cada item: o flush fica a cargo dos blocos
+	private final ObjectWriter escritor;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	EscritorNdjson(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		this.escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	// Devolve a quantidade de linhas escritas; a saída continua aberta
+	long escrever(Stream<?> itens, OutputStream saida) throws IOException {
+		long linhas = 0;
+		try (JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+			gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// O separador entre valores raiz é a quebra de linha escrita abaixo
+			gerador.setRootValueSeparator(null);
+
+			Iterator<?> iterador = itens.iterator();
+			while (iterador.hasNext()) {
+				escritor.writeValue(gerador, iterador.next());
+				gerador.writeRaw('\n');
+				if (++linhas % LINHAS_POR_BLOCO == 0) {
+					gerador.flush();
+					entityManager.clear();
+				}
+			}
+		}
+		return linhas;
+	}
+}
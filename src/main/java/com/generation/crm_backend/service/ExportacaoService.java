@@ -0,0 +1,303 @@
+package com.generation.crm_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generation.crm_backend.dto.ArquivoExportacao;
+import com.generation.crm_backend.dto.ExportacaoPedidoDTO;
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Exportacao;
+import com.generation.crm_backend.model.Exportacao.Entidade;
+import com.generation.crm_backend.model.Exportacao.Formato;
+import com.generation.crm_backend.model.Exportacao.Situacao;
+import com.generation.crm_backend.repository.ClienteRepository;
+import com.generation.crm_backend.repository.ExportacaoRepository;
+import com.generation.crm_backend.repository.OportunidadeRepository;
+import com.opencsv.CSVWriter;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+
+// Exportações em segundo plano: cada job lê a entidade em lotes por id (uma transação curta por lote) e acrescenta as
+// linhas a um arquivo em disco. Depois de cada lote o arquivo é sincronizado e o checkpoint gravado; uma execução
+// que assume o job depois de um reinício corta o arquivo no último checkpoint e continua do id seguinte.
+@Service
+@Observed(name = "crm.servico")
+public class ExportacaoService {
+
+	private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+
+	private static final int TAMANHO_LOTE = 1_000;
+	private static final int TAMANHO_BUFFER = 64 * 1024;
+
+	private static final Set<Situacao> SITUACOES_ATIVAS = EnumSet.of(Situacao.PENDENTE, Situacao.EM_EXECUCAO);
+
+	@Autowired
+	private ExportacaoRepository exportacaoRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private OportunidadeRepository oportunidadeRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final Path diretorio;
+
+	// Sem progresso há mais tempo que isso, o job é considerado abandonado e pode ser assumido de novo
+	private final Duration retomarApos;
+
+	// Poucas threads e fila limitada: exportações não disputam o pool de conexões com as requisições.
+	// Pedidos recusados com a fila cheia continuam PENDENTE e são iniciados pela retomada periódica.
+	private final ThreadPoolExecutor executor;
+
+	public ExportacaoService(@Value("${crm.exportacao.diretorio}") Path diretorio,
+			@Value("${crm.exportacao.threads:2}") int threads, @Value("${crm.exportacao.fila:20}") int fila,
+			@Value("${crm.exportacao.retomar-apos:2m}") Duration retomarApos) {
+		this.diretorio = diretorio;
+		this.retomarApos = retomarApos;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(fila), Thread.ofPlatform().name("exportacao-", 0).factory());
+	}
+
+	public Exportacao solicitar(ExportacaoPedidoDTO pedido) {
+		validarFiltros(pedido);
+		Exportacao exportacao = exportacaoRepository.save(new Exportacao(pedido.entidade(),
+				Objects.requireNonNullElse(pedido.formato(), Formato.CSV), pedido.tipoPessoa(), pedido.leadScoreMinimo(),
+				pedido.statusOportunidade(), LocalDateTime.now()));
+		agendar(exportacao.getId());
+		return exportacao;
+	}
+
+	public Exportacao getById(Long id) {
+		return exportacaoRepository.findById(id)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+						"Exportação com ID " + id + " não encontrada."));
+	}
+
+	public ArquivoExportacao getArquivo(Long id) {
+		Exportacao exportacao = getById(id);
+		if (exportacao.getSituacao() != Situacao.CONCLUIDA) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT,
+					"A exportação " + id + " está " + exportacao.getSituacao() + "; o arquivo só fica disponível quando ela é concluída.");
+		}
+		Path caminho = arquivo(exportacao);
+		if (!Files.isRegularFile(caminho)) {
+			throw new ResponseStatusException(HttpStatus.GONE, "O arquivo da exportação " + id + " não existe mais.");
+		}
+		String extensao = exportacao.getFormato() == Formato.CSV ? "csv" : "ndjson";
+		return new ArquivoExportacao(caminho, exportacao.getBytes(),
+				exportacao.getFormato() == Formato.CSV ? "text/csv" : "application/x-ndjson",
+				exportacao.getEntidade().name().toLowerCase() + "-" + id + "." + extensao);
+	}
+
+	// Retoma pedidos que ficaram na fila cheia e jobs cuja instância parou (reinício, queda do pod)
+	@Scheduled(initialDelayString = "${crm.exportacao.verificacao:1m}", fixedDelayString = "${crm.exportacao.verificacao:1m}")
+	public void retomarAbandonadas() {
+		for (Long id : exportacaoRepository.findIdsParaRetomar(SITUACOES_ATIVAS, LocalDateTime.now().minus(retomarApos))) {
+			agendar(id);
+		}
+	}
+
+	// Jobs interrompidos aqui continuam EM_EXECUCAO e são retomados por outra instância ou depois do reinício
+	@PreDestroy
+	public void encerrar() {
+		executor.shutdownNow();
+	}
+
+	private void agendar(Long id) {
+		try {
+			executor.execute(() -> executar(id));
+		} catch (RejectedExecutionException e) {
+			log.warn("Fila de exportações cheia; a exportação {} será iniciada pela retomada periódica", id);
+		}
+	}
+
+	private void executar(Long id) {
+		Exportacao exportacao = exportacaoRepository.findById(id).orElse(null);
+		if (exportacao == null || !SITUACOES_ATIVAS.contains(exportacao.getSituacao())) {
+			return;
+		}
+		// Outra thread ou instância já assumiu este job
+		if (exportacaoRepository.assumir(id, exportacao.getExecucao(), SITUACOES_ATIVAS, Situacao.EM_EXECUCAO,
+				LocalDateTime.now()) == 0) {
+			return;
+		}
+		int execucao = exportacao.getExecucao() + 1;
+
+		try {
+			if (escrever(exportacao, execucao)) {
+				exportacaoRepository.finalizar(id, execucao, Situacao.CONCLUIDA, null, LocalDateTime.now());
+			}
+		} catch (Exception e) {
+			if (executor.isShutdown()) {
+				return;
+			}
+			log.error("Exportação {} falhou", id, e);
+			String mensagem = Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+			exportacaoRepository.finalizar(id, execucao, Situacao.FALHOU,
+					mensagem.length() > 1000 ? mensagem.substring(0, 1000) : mensagem, LocalDateTime.now());
+		}
+	}
+
+	// Falso quando outra execução assumiu o job no meio do caminho
+	private boolean escrever(Exportacao exportacao, int execucao) throws IOException {
+		Files.createDirectories(diretorio);
+		Fonte<?> fonte = fonte(exportacao);
+		TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+		leitura.setReadOnly(true);
+
+		try (FileChannel canal = FileChannel.open(arquivo(exportacao), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE)) {
+			long ultimoId = exportacao.getUltimoId();
+			long linhas = exportacao.getLinhas();
+			long bytes = exportacao.getBytes();
+			// Arquivo menor que o checkpoint (outro disco, arquivo apagado): recomeça do início
+			if (canal.size() < bytes) {
+				ultimoId = 0;
+				linhas = 0;
+				bytes = 0;
+			}
+			// Descarta o que foi escrito depois do último checkpoint
+			canal.truncate(bytes);
+			canal.position(bytes);
+
+			Writer saida = new BufferedWriter(
+					new OutputStreamWriter(Channels.newOutputStream(canal), StandardCharsets.UTF_8), TAMANHO_BUFFER);
+			CSVWriter csv = new CSVWriter(saida);
+			if (bytes == 0 && exportacao.getFormato() == Formato.CSV) {
+				csv.writeNext(fonte.cabecalho());
+			}
+
+			int tamanhoLote;
+			do {
+				long inicio = ultimoId;
+				List<?> lote = leitura.execute(status -> fonte.lote().apply(inicio));
+				// Confere a posse antes de cada lote: uma execução que perdeu o job (pausa longa, instância dada como
+				// parada) não pode acrescentar linhas ao arquivo que a nova execução já cortou no checkpoint
+				if (!exportacaoRepository.existsByIdAndExecucao(exportacao.getId(), execucao)) {
+					return false;
+				}
+				tamanhoLote = lote.size();
+				if (tamanhoLote > 0) {
+					ultimoId = fonte.escrever(lote, exportacao.getFormato(), csv, saida, objectMapper);
+					linhas += tamanhoLote;
+				}
+
+				csv.flush();
+				canal.force(false);
+				bytes = canal.position();
+				if (exportacaoRepository.registrarProgresso(exportacao.getId(), execucao, ultimoId, linhas, bytes,
+						LocalDateTime.now()) == 0) {
+					return false;
+				}
+			} while (tamanhoLote == TAMANHO_LOTE);
+		}
+		return true;
+	}
+
+	private Path arquivo(Exportacao exportacao) {
+		return diretorio.resolve("exportacao-" + exportacao.getId() + "."
+				+ exportacao.getFormato().name().toLowerCase());
+	}
+
+	private Fonte<?> fonte(Exportacao exportacao) {
+		if (exportacao.getEntidade() == Entidade.CLIENTES) {
+			return new Fonte<Cliente>(
+					new String[] { "id", "nome", "email", "telefone", "tipoPessoa", "cpf", "cnpj", "leadScore",
+							"createdAt", "updatedAt" },
+					ultimoId -> clienteRepository.findParaExportacao(ultimoId, exportacao.getTipoPessoa(),
+							exportacao.getLeadScoreMinimo(), Limit.of(TAMANHO_LOTE)),
+					Cliente::getId,
+					c -> new String[] { texto(c.getId()), c.getNome(), c.getEmail(), c.getTelefone(),
+							texto(c.getTipoPessoa()), c.getCpf(), c.getCnpj(), texto(c.getLeadScore()),
+							texto(c.getCreatedAt()), texto(c.getUpdatedAt()) });
+		}
+		return new Fonte<OportunidadeResumo>(
+				new String[] { "id", "titulo", "valorEstimado", "status", "dataCriacao", "clienteId", "clienteNome",
+						"usuarioId", "usuarioNome" },
+				ultimoId -> oportunidadeRepository.findParaExportacao(ultimoId, exportacao.getStatusOportunidade(),
+						PageRequest.of(0, TAMANHO_LOTE)),
+				OportunidadeResumo::id,
+				o -> new String[] { texto(o.id()), o.titulo(), texto(o.valorEstimado()), texto(o.status()),
+						texto(o.dataCriacao()), texto(o.clienteId()), o.clienteNome(), texto(o.usuarioId()),
+						o.usuarioNome() });
+	}
+
+	private static void validarFiltros(ExportacaoPedidoDTO pedido) {
+		if (pedido.entidade() == Entidade.CLIENTES && pedido.statusOportunidade() != null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"O filtro statusOportunidade só vale para a exportação de oportunidades.");
+		}
+		if (pedido.entidade() == Entidade.OPORTUNIDADES
+				&& (pedido.tipoPessoa() != null || pedido.leadScoreMinimo() != null)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Os filtros tipoPessoa e leadScoreMinimo só valem para a exportação de clientes.");
+		}
+	}
+
+	private static String texto(Object valor) {
+		return valor != null ? valor.toString() : null;
+	}
+
+	// Como ler um lote da entidade e transformar cada item em linha de CSV; no NDJSON o item é serializado inteiro
+	private record Fonte<T>(String[] cabecalho, LongFunction<List<T>> lote, ToLongFunction<T> id,
+			Function<T, String[]> colunas) {
+
+		// Devolve o id do último item escrito
+		@SuppressWarnings("unchecked")
+		long escrever(List<?> itens, Formato formato, CSVWriter csv, Writer saida, ObjectMapper objectMapper)
+				throws IOException {
+			for (Object item : itens) {
+				if (formato == Formato.CSV) {
+					csv.writeNext(colunas.apply((T) item));
+				} else {
+					saida.write(objectMapper.writeValueAsString(item));
+					saida.write('\n');
+				}
+			}
+			return id.applyAsLong((T) itens.get(itens.size() - 1));
+		}
+	}
+}
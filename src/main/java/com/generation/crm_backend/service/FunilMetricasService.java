@@ -0,0 +1,232 @@
+package com.generation.crm_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.generation.crm_backend.dto.FunilEtapa;
+import com.generation.crm_backend.dto.FunilMetricas;
+import com.generation.crm_backend.dto.FunilUsuario;
+import com.generation.crm_backend.dto.PipelinePorStatus;
+import com.generation.crm_backend.dto.PipelineUsuarioStatus;
+import com.generation.crm_backend.dto.TransicaoResumo;
+import com.generation.crm_backend.model.HistoricoStatus;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.repository.HistoricoStatusRepository;
+import com.generation.crm_backend.repository.OportunidadeRepository;
+
+// Métricas do funil em memória: contadores por status (geral e por usuário), transições entre etapas e tempo em
+// cada etapa. Atualizadas depois do commit pelos eventos do OportunidadeService (quantidades e valores) e pelos
+// registros do histórico de status (transições e durações), sem consultar o banco nas leituras.
+// Tudo é carregado do banco na subida.
+@Service
+public class FunilMetricasService implements SmartInitializingSingleton {
+
+	private static final Logger log = LoggerFactory.getLogger(FunilMetricasService.class);
+
+	private static final StatusOportunidade[] STATUS = StatusOportunidade.values();
+
+	// Etapa seguinte no caminho de sucesso; a conversão de uma etapa é a fração das saídas que foram para ela
+	private static final Map<StatusOportunidade, StatusOportunidade> AVANCO = Map.of(
+			StatusOportunidade.NOVA, StatusOportunidade.EM_NEGOCIACAO,
+			StatusOportunidade.EM_NEGOCIACAO, StatusOportunidade.GANHA);
+
+	private static final double SEGUNDOS_POR_HORA = 3600d;
+
+	// Quantidade e soma do valor estimado por status; somadores listrados, sem bloqueio entre threads
+	private static final class Contadores {
+
+		private final LongAdder[] quantidade = new LongAdder[STATUS.length];
+		private final DoubleAdder[] valor = new DoubleAdder[STATUS.length];
+
+		private Contadores() {
+			for (int i = 0; i < STATUS.length; i++) {
+				quantidade[i] = new LongAdder();
+				valor[i] = new DoubleAdder();
+			}
+		}
+
+		private void somar(StatusOportunidade status, long quantidadeDelta, double valorDelta) {
+			quantidade[status.ordinal()].add(quantidadeDelta);
+			valor[status.ordinal()].add(valorDelta);
+		}
+
+		private long quantidade(StatusOportunidade status) {
+			return quantidade[status.ordinal()].sum();
+		}
+
+		private BigDecimal valor(StatusOportunidade status) {
+			return BigDecimal.valueOf(valor[status.ordinal()].sum()).setScale(2, RoundingMode.HALF_EVEN);
+		}
+
+		private Double taxaVitoria() {
+			long ganhas = quantidade(StatusOportunidade.GANHA);
+			long encerradas = ganhas + quantidade(StatusOportunidade.PERDIDA);
+			return encerradas > 0 ? (double) ganhas / encerradas : null;
+		}
+	}
+
+	// Transições de status (origem x destino) e tempo acumulado em cada etapa de origem
+	private static final class Transicoes {
+
+		private final LongAdder[][] quantidade = new LongAdder[STATUS.length][STATUS.length];
+		private final LongAdder[] duracaoSegundos = new LongAdder[STATUS.length];
+		private final LongAdder[] amostrasDuracao = new LongAdder[STATUS.length];
+
+		private Transicoes() {
+			for (int i = 0; i < STATUS.length; i++) {
+				duracaoSegundos[i] = new LongAdder();
+				amostrasDuracao[i] = new LongAdder();
+				for (int j = 0; j < STATUS.length; j++) {
+					quantidade[i][j] = new LongAdder();
+				}
+			}
+		}
+
+		private void somar(StatusOportunidade de, StatusOportunidade para, long quantidadeDelta, long duracaoDelta,
+				long amostrasDelta) {
+			quantidade[de.ordinal()][para.ordinal()].add(quantidadeDelta);
+			duracaoSegundos[de.ordinal()].add(duracaoDelta);
+			amostrasDuracao[de.ordinal()].add(amostrasDelta);
+		}
+	}
+
+	@Autowired
+	private OportunidadeRepository oportunidadeRepository;
+
+	@Autowired
+	private HistoricoStatusRepository historicoStatusRepository;
+
+	private volatile Contadores geral = new Contadores();
+	private volatile Map<Long, Contadores> porUsuario = new ConcurrentHashMap<>();
+	private volatile Transicoes transicoes = new Transicoes();
+	private volatile Instant reconstruidoEm;
+
+	// Roda depois de criados os beans e antes de o servidor web aceitar requisições
+	@Override
+	public void afterSingletonsInstantiated() {
+		reconstruir();
+	}
+
+	// Carrega quantidades, valores e transições com dois group by e troca os contadores de uma vez
+	public void reconstruir() {
+		Contadores novoGeral = new Contadores();
+		Map<Long, Contadores> novoPorUsuario = new ConcurrentHashMap<>();
+		Transicoes novasTransicoes = new Transicoes();
+
+		for (PipelineUsuarioStatus linha : oportunidadeRepository.agregarPorUsuarioEStatus()) {
+			double valor = linha.valorTotal().doubleValue();
+			novoGeral.somar(linha.status(), linha.quantidade(), valor);
+			novoPorUsuario.computeIfAbsent(linha.usuarioId(), id -> new Contadores())
+					.somar(linha.status(), linha.quantidade(), valor);
+		}
+
+		for (TransicaoResumo linha : historicoStatusRepository.agregarTodasTransicoes()) {
+			novasTransicoes.somar(linha.de(), linha.para(), linha.quantidade(), linha.duracaoTotalSegundos(),
+					linha.amostrasDuracao());
+		}
+
+		geral = novoGeral;
+		porUsuario = novoPorUsuario;
+		transicoes = novasTransicoes;
+		reconstruidoEm = Instant.now();
+		log.info("Métricas do funil carregadas para {} usuários", novoPorUsuario.size());
+	}
+
+	// Só mudanças confirmadas entram nas métricas; sem transação (fallback) o evento é aplicado na hora
+	@TransactionalEventListener(fallbackExecution = true)
+	public void registrar(OportunidadeEvento evento) {
+		if (evento.anterior() != null) {
+			somar(evento.anterior(), -1);
+		}
+		if (evento.atual() != null) {
+			somar(evento.atual(), 1);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void registrarLote(TransicoesEmLoteEvento lote) {
+		lote.eventos().forEach(this::registrar);
+	}
+
+	// Cada transição gravada no histórico (a criação, sem status anterior, não é transição)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void registrarTransicao(HistoricoStatus registro) {
+		if (registro.getStatusAnterior() == null) {
+			return;
+		}
+		Long duracao = registro.getDuracaoStatusAnteriorSegundos();
+		transicoes.somar(registro.getStatusAnterior(), registro.getStatusNovo(), 1, duracao != null ? duracao : 0,
+				duracao != null ? 1 : 0);
+	}
+
+	private void somar(OportunidadeEvento.Estado estado, int sinal) {
+		double valor = estado.valorEstimado() != null ? estado.valorEstimado().doubleValue() * sinal : 0;
+		geral.somar(estado.status(), sinal, valor);
+		porUsuario.computeIfAbsent(estado.usuarioId(), id -> new Contadores()).somar(estado.status(), sinal, valor);
+	}
+
+	public FunilMetricas getFunil() {
+		Contadores contadores = geral;
+		Transicoes transicoes = this.transicoes;
+		List<FunilEtapa> etapas = new ArrayList<>(STATUS.length);
+
+		for (StatusOportunidade status : STATUS) {
+			int origem = status.ordinal();
+			long saidas = 0;
+			for (LongAdder transicao : transicoes.quantidade[origem]) {
+				saidas += transicao.sum();
+			}
+
+			StatusOportunidade proxima = AVANCO.get(status);
+			long avancos = proxima != null ? transicoes.quantidade[origem][proxima.ordinal()].sum() : 0;
+			Double conversao = proxima != null && saidas > 0 ? (double) avancos / saidas : null;
+
+			long amostras = transicoes.amostrasDuracao[origem].sum();
+			Double tempoMedioHoras = amostras > 0
+					? transicoes.duracaoSegundos[origem].sum() / (double) amostras / SEGUNDOS_POR_HORA
+					: null;
+
+			etapas.add(new FunilEtapa(status, contadores.quantidade(status), contadores.valor(status), saidas,
+					avancos, conversao, tempoMedioHoras));
+		}
+		return new FunilMetricas(etapas, contadores.taxaVitoria(), reconstruidoEm);
+	}
+
+	public List<FunilUsuario> getFunilPorUsuario() {
+		List<FunilUsuario> usuarios = new ArrayList<>();
+		porUsuario.forEach((usuarioId, contadores) -> usuarios.add(funilDoUsuario(usuarioId, contadores)));
+		usuarios.sort(Comparator.comparing(FunilUsuario::valorEmAberto).reversed());
+		return usuarios;
+	}
+
+	public FunilUsuario getFunilDoUsuario(Long usuarioId) {
+		Contadores contadores = porUsuario.get(usuarioId);
+		return funilDoUsuario(usuarioId, contadores != null ? contadores : new Contadores());
+	}
+
+	private FunilUsuario funilDoUsuario(Long usuarioId, Contadores contadores) {
+		Map<StatusOportunidade, PipelinePorStatus> etapas = new EnumMap<>(StatusOportunidade.class);
+		for (StatusOportunidade status : STATUS) {
+			etapas.put(status, new PipelinePorStatus(status, contadores.quantidade(status), contadores.valor(status)));
+		}
+		BigDecimal valorEmAberto = contadores.valor(StatusOportunidade.NOVA)
+				.add(contadores.valor(StatusOportunidade.EM_NEGOCIACAO));
+		return new FunilUsuario(usuarioId, List.copyOf(etapas.values()), valorEmAberto, contadores.taxaVitoria());
+	}
+}
@@ -0,0 +1,157 @@
+package com.generation.crm_backend.service;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.crm_backend.dto.TempoNoStatus;
+import com.generation.crm_backend.dto.TransicaoResumo;
+import com.generation.crm_backend.model.HistoricoStatus;
+import com.generation.crm_backend.repository.HistoricoStatusRepository;
+
+import io.micrometer.observation.annotation.Observed;
+
+@Service
+@Observed(name = "crm.servico")
+public class HistoricoStatusService {
+
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+	// Mesma ordem do índice (oportunidade_id, data_transicao) e estável entre páginas
+	private static final Sort ORDEM_CRONOLOGICA = Sort.by("dataTransicao", "id");
+
+	private static final int TAMANHO_LOTE = 500;
+	private static final int TAMANHO_BLOCO_IN = 1_000;
+
+	private static final String SQL_INSERT = "insert into tb_historico_status "
+			+ "(oportunidade_id, status_anterior, status_novo, data_transicao, usuario_id, duracao_status_anterior_segundos) "
+			+ "values (?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private HistoricoStatusRepository historicoStatusRepository;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	// Inserções em lote: com id IDENTITY o Hibernate não agrupa os INSERTs
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Listener síncrono: grava na mesma transação que alterou a oportunidade, então o histórico nunca diverge dela.
+	// A duração no status anterior é calculada aqui para que os relatórios não precisem parear linhas.
+	@EventListener
+	public void registrar(OportunidadeEvento evento) {
+		if (evento.atual() == null || (evento.anterior() != null && !evento.mudouDeStatus())) {
+			return;
+		}
+
+		LocalDateTime agora = LocalDateTime.ofInstant(evento.instante(), ZoneId.systemDefault());
+		Long duracaoSegundos = null;
+		if (evento.anterior() != null) {
+			// Oportunidades anteriores ao histórico não têm o registro de entrada no status
+			duracaoSegundos = historicoStatusRepository
+					.findFirstByOportunidadeIdOrderByDataTransicaoDescIdDesc(evento.oportunidadeId())
+					.filter(ultimo -> ultimo.getStatusNovo() == evento.anterior().status())
+					.map(ultimo -> Duration.between(ultimo.getDataTransicao(), agora).getSeconds())
+					.orElse(null);
+		}
+
+		HistoricoStatus registro = historicoStatusRepository.save(new HistoricoStatus(evento.oportunidadeId(),
+				evento.anterior() != null ? evento.anterior().status() : null, evento.atual().status(), agora,
+				evento.atual().usuarioId(), duracaoSegundos));
+		eventPublisher.publishEvent(registro);
+	}
+
+	// Versão em lote do registrar: uma consulta traz a última transição de cada oportunidade e os registros são
+	// inseridos em batches de JDBC, na mesma transação do UPDATE em lote
+	@EventListener
+	public void registrarLote(TransicoesEmLoteEvento lote) {
+		Map<Long, HistoricoStatus> ultimos = new HashMap<>();
+		List<Long> ids = lote.eventos().stream().map(OportunidadeEvento::oportunidadeId).toList();
+		for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_IN) {
+			historicoStatusRepository.findUltimosPorOportunidade(ids.subList(inicio,
+					Math.min(inicio + TAMANHO_BLOCO_IN, ids.size())))
+					.forEach(registro -> ultimos.merge(registro.getOportunidadeId(), registro,
+							(a, b) -> a.getId() > b.getId() ? a : b));
+		}
+
+		List<HistoricoStatus> registros = new ArrayList<>(ids.size());
+		for (OportunidadeEvento evento : lote.eventos()) {
+			LocalDateTime agora = LocalDateTime.ofInstant(evento.instante(), ZoneId.systemDefault());
+			HistoricoStatus ultimo = ultimos.get(evento.oportunidadeId());
+			Long duracaoSegundos = ultimo != null && ultimo.getStatusNovo() == evento.anterior().status()
+					? Duration.between(ultimo.getDataTransicao(), agora).getSeconds()
+					: null;
+			registros.add(new HistoricoStatus(evento.oportunidadeId(), evento.anterior().status(),
+					evento.atual().status(), agora, evento.atual().usuarioId(), duracaoSegundos));
+		}
+
+		jdbcTemplate.batchUpdate(SQL_INSERT, registros, TAMANHO_LOTE, (ps, registro) -> {
+			ps.setLong(1, registro.getOportunidadeId());
+			ps.setString(2, registro.getStatusAnterior().name());
+			ps.setString(3, registro.getStatusNovo().name());
+			ps.setObject(4, registro.getDataTransicao());
+			ps.setLong(5, registro.getUsuarioId());
+			if (registro.getDuracaoStatusAnteriorSegundos() != null) {
+				ps.setLong(6, registro.getDuracaoStatusAnteriorSegundos());
+			} else {
+				ps.setNull(6, Types.BIGINT);
+			}
+		});
+		// Sem id (gravados por JDBC), mas com tudo que as métricas do funil usam
+		registros.forEach(eventPublisher::publishEvent);
+	}
+
+	@Transactional(readOnly = true)
+	public List<HistoricoStatus> getHistoricoDaOportunidade(Long oportunidadeId) {
+		return historicoStatusRepository.findByOportunidadeIdOrderByDataTransicaoAscIdAsc(oportunidadeId);
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<HistoricoStatus> getHistoricoPorPeriodo(LocalDateTime inicio, LocalDateTime fim, int numeroPagina,
+			int tamanhoPagina) {
+		validarPeriodo(inicio, fim);
+		if (numeroPagina < 0 || tamanhoPagina < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"A página deve ser maior ou igual a zero e o tamanho maior que zero.");
+		}
+		return historicoStatusRepository.findByDataTransicaoGreaterThanEqualAndDataTransicaoLessThan(inicio, fim,
+				PageRequest.of(numeroPagina, Math.min(tamanhoPagina, TAMANHO_MAXIMO_PAGINA), ORDEM_CRONOLOGICA));
+	}
+
+	@Transactional(readOnly = true)
+	public List<TempoNoStatus> getTempoPorStatus(LocalDateTime inicio, LocalDateTime fim) {
+		validarPeriodo(inicio, fim);
+		return historicoStatusRepository.agregarTempoPorStatus(inicio, fim);
+	}
+
+	@Transactional(readOnly = true)
+	public List<TransicaoResumo> getVelocidade(LocalDateTime inicio, LocalDateTime fim) {
+		validarPeriodo(inicio, fim);
+		return historicoStatusRepository.agregarTransicoes(inicio, fim);
+	}
+
+	private void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+		if (!inicio.isBefore(fim)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"O início do período deve ser anterior ao fim.");
+		}
+	}
+}
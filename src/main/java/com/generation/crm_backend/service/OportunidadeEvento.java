@@ -0,0 +1,43 @@
+package com.generation.crm_backend.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+
+// Mudança de estado de uma oportunidade, publicada pelo OportunidadeService.
+// "anterior" é nulo na criação e "atual" é nulo na exclusão.
+public record OportunidadeEvento(Long oportunidadeId, Estado anterior, Estado atual, Instant instante) {
+
+	public record Estado(StatusOportunidade status, Long usuarioId, BigDecimal valorEstimado) {
+
+		public static Estado de(Oportunidade oportunidade) {
+			return new Estado(oportunidade.getStatus(), oportunidade.getUsuario().getId(),
+					oportunidade.getValorEstimado());
+		}
+	}
+
+	public static OportunidadeEvento criacao(Oportunidade oportunidade) {
+		return new OportunidadeEvento(oportunidade.getId(), null, Estado.de(oportunidade), Instant.now());
+	}
+
+	public static OportunidadeEvento alteracao(Long oportunidadeId, Estado anterior, Oportunidade atual) {
+		return new OportunidadeEvento(oportunidadeId, anterior, Estado.de(atual), Instant.now());
+	}
+
+	// Mudança só de status, aplicada sem carregar a entidade (transição em lote)
+	public static OportunidadeEvento transicao(Long oportunidadeId, Estado anterior, StatusOportunidade novoStatus,
+			Instant instante) {
+		return new OportunidadeEvento(oportunidadeId, anterior,
+				new Estado(novoStatus, anterior.usuarioId(), anterior.valorEstimado()), instante);
+	}
+
+	public static OportunidadeEvento exclusao(Long oportunidadeId, Estado anterior) {
+		return new OportunidadeEvento(oportunidadeId, anterior, null, Instant.now());
+	}
+
+	public boolean mudouDeStatus() {
+		return anterior != null && atual != null && anterior.status() != atual.status();
+	}
+}
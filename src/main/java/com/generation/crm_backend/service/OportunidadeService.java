@@ -1,25 +1,65 @@
 package com.generation.crm_backend.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.dto.PipelinePorCliente;
+import com.generation.crm_backend.dto.PipelinePorStatus;
+import com.generation.crm_backend.dto.PipelinePorUsuario;
+import com.generation.crm_backend.dto.TransicaoEmLoteDTO;
+import com.generation.crm_backend.dto.TransicaoEmLoteItem;
+import com.generation.crm_backend.dto.TransicaoEmLoteResultado;
 import com.generation.crm_backend.model.Cliente;
 import com.generation.crm_backend.model.Oportunidade;
 import com.generation.crm_backend.model.StatusOportunidade;
 import com.generation.crm_backend.model.Usuario;
 import com.generation.crm_backend.repository.ClienteRepository;
 import com.generation.crm_backend.repository.OportunidadeRepository;
+import com.generation.crm_backend.repository.OportunidadeSpecifications;
 import com.generation.crm_backend.repository.UsuarioRepository;
 
+import io.micrometer.observation.annotation.Observed;
+
 @Service
+@Observed(name = "crm.servico")
 public class OportunidadeService {
 
+	// Limite de itens por página da busca, para manter latência e tamanho da resposta previsíveis
+	private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+	// Oportunidades por transição em lote e IDs por cláusula IN (abaixo do limite de parâmetros dos bancos)
+	private static final int LIMITE_TRANSICAO_EM_LOTE = 10_000;
+	private static final int TAMANHO_BLOCO_IN = 1_000;
+
+	private static final Set<String> CAMPOS_ORDENACAO = Set.of("id", "titulo", "valorEstimado", "status",
+			"dataCriacao");
+
 	@Autowired
 	private OportunidadeRepository oportunidadeRepository;
 	
@@ -29,11 +69,32 @@ public class OportunidadeService {
 	@Autowired
 	private UsuarioRepository usuarioRepository; //injeta usuarioRepository
 
+	@Autowired
+	private EscritorNdjson escritorNdjson;
+
+	// Mudanças de estado alimentam as métricas em memória do funil (FunilMetricasService)
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
 	@Transactional(readOnly = true)
 	public List<Oportunidade> findAll() {
 		return oportunidadeRepository.findAll();
 	}
 
+	@Transactional(readOnly = true)
+	public List<OportunidadeResumo> findAllResumo() {
+		return oportunidadeRepository.findAllResumo();
+	}
+
+	// Mesmo conteúdo do findAll/findAllResumo em NDJSON, escrito à medida que o cursor do banco avança
+	@Transactional(readOnly = true)
+	public long escreverNdjson(OutputStream saida, boolean resumo) throws IOException {
+		try (Stream<?> oportunidades = resumo ? oportunidadeRepository.streamAllResumo()
+				: oportunidadeRepository.streamAll()) {
+			return escritorNdjson.escrever(oportunidades, saida);
+		}
+	}
+
 	@Transactional(readOnly = true)
 	public Optional<Oportunidade> findById(Long id) {
 		return oportunidadeRepository.findById(id);
@@ -56,6 +117,73 @@ public class OportunidadeService {
 		return oportunidadeRepository.findAllByTituloContainingIgnoreCase(titulo);
 	}
 
+	@Transactional(readOnly = true)
+	public Page<Oportunidade> buscar(OportunidadeFiltroDTO filtro, int numeroPagina, int tamanhoPagina,
+			String campoOrdenacao, String direcaoOrdenacao) {
+		return oportunidadeRepository.findAll(OportunidadeSpecifications.comFiltro(filtro),
+				paginaDaBusca(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+	}
+
+	// Mesmos filtros e ordenação, mas o select traz só as colunas do resumo, sem montar as entidades
+	@Transactional(readOnly = true)
+	public Page<OportunidadeResumo> buscarResumo(OportunidadeFiltroDTO filtro, int numeroPagina, int tamanhoPagina,
+			String campoOrdenacao, String direcaoOrdenacao) {
+		return oportunidadeRepository.findResumo(OportunidadeSpecifications.comFiltro(filtro),
+				paginaDaBusca(numeroPagina, tamanhoPagina, campoOrdenacao, direcaoOrdenacao));
+	}
+
+	private static Pageable paginaDaBusca(int numeroPagina, int tamanhoPagina, String campoOrdenacao,
+			String direcaoOrdenacao) {
+		if (numeroPagina < 0 || tamanhoPagina < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"A página deve ser maior ou igual a zero e o tamanho maior que zero.");
+		}
+
+		if (!StringUtils.hasText(campoOrdenacao)) {
+			campoOrdenacao = "id";
+		}
+		if (!CAMPOS_ORDENACAO.contains(campoOrdenacao)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Campo de ordenação inválido: " + campoOrdenacao);
+		}
+
+		if (!StringUtils.hasText(direcaoOrdenacao)
+				|| (!direcaoOrdenacao.equalsIgnoreCase("asc") && !direcaoOrdenacao.equalsIgnoreCase("desc"))) {
+			direcaoOrdenacao = "asc";
+		}
+
+		Sort sort = Sort.by(Sort.Direction.fromString(direcaoOrdenacao.toUpperCase()), campoOrdenacao);
+		return PageRequest.of(numeroPagina, Math.min(tamanhoPagina, TAMANHO_MAXIMO_PAGINA), sort);
+	}
+
+	// Todos os status aparecem no resultado, inclusive os que ainda não têm oportunidades
+	@Transactional(readOnly = true)
+	public List<PipelinePorStatus> getPipelinePorStatus() {
+		Map<StatusOportunidade, PipelinePorStatus> porStatus = new EnumMap<>(StatusOportunidade.class);
+		for (StatusOportunidade status : StatusOportunidade.values()) {
+			porStatus.put(status, PipelinePorStatus.vazio(status));
+		}
+		oportunidadeRepository.agregarPorStatus().forEach(linha -> porStatus.put(linha.status(), linha));
+		return List.copyOf(porStatus.values());
+	}
+
+	@Transactional(readOnly = true)
+	public List<PipelinePorUsuario> getPipelinePorUsuario(StatusOportunidade status) {
+		return oportunidadeRepository.agregarPorUsuario(status);
+	}
+
+	// Paginado porque cresce com a base de clientes; ordenado pelo maior valor total
+	@Transactional(readOnly = true)
+	public Page<PipelinePorCliente> getPipelinePorCliente(StatusOportunidade status, int numeroPagina,
+			int tamanhoPagina) {
+		if (numeroPagina < 0 || tamanhoPagina < 1) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"A página deve ser maior ou igual a zero e o tamanho maior que zero.");
+		}
+		return oportunidadeRepository.agregarPorCliente(status,
+				PageRequest.of(numeroPagina, Math.min(tamanhoPagina, TAMANHO_MAXIMO_PAGINA)));
+	}
+
 	//lidar com objetos cliente usuario
 	@Transactional
 	public Oportunidade save(Oportunidade oportunidadeRecebida) {
@@ -92,16 +220,38 @@ public class OportunidadeService {
 						"Usuário com ID " + usuarioId + " não encontrado."));
 		novaOportunidade.setUsuario(usuarioAssociado);
 
-		return oportunidadeRepository.save(novaOportunidade);
+		Oportunidade salva = oportunidadeRepository.save(novaOportunidade);
+		eventPublisher.publishEvent(OportunidadeEvento.criacao(salva));
+		return salva;
 	}
 
-	//lidar com obj cliente usuario
+	// Chamada interna não passa pelo proxy: a transação precisa ser aberta aqui
+	@Transactional
 	public Oportunidade update(Oportunidade oportunidade) {
+		return update(oportunidade, null);
+	}
+
+	//lidar com obj cliente usuario
+	// Copia os dados recebidos para a instância carregada: o UPDATE gerado compara a versão lida nesta transação,
+	// e versaoEsperada (If-Match) ou a versão enviada no corpo detectam edições feitas desde a leitura do cliente
+	@Transactional
+	public Oportunidade update(Oportunidade oportunidade, Long versaoEsperada) {
 
-		if (oportunidade.getId() == null || !oportunidadeRepository.existsById(oportunidade.getId())) {
+		Oportunidade existente = oportunidade.getId() == null ? null
+				: oportunidadeRepository.findById(oportunidade.getId()).orElse(null);
+		if (existente == null) {
 			throw new ResponseStatusException(HttpStatus.NOT_FOUND,
 					"Oportunidade com ID " + oportunidade.getId() + " não encontrada para atualização...");
 		}
+		verificarVersao(existente, versaoEsperada);
+		if (oportunidade.getVersao() != null && !oportunidade.getVersao().equals(existente.getVersao())) {
+			throw conflito(existente.getId());
+		}
+		// O PUT também muda o status: as regras do funil valem aqui como em /status/{novoStatus}
+		if (oportunidade.getStatus() != existente.getStatus()) {
+			validarTransicao(existente.getStatus(), oportunidade.getStatus());
+		}
+		OportunidadeEvento.Estado anterior = OportunidadeEvento.Estado.de(existente);
 
 		Cliente cliente = clienteRepository.findById(oportunidade.getCliente().getId())
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado!"));
@@ -109,92 +259,175 @@ public class OportunidadeService {
 		Usuario usuario = usuarioRepository.findById(oportunidade.getUsuario().getId())
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado!"));
 
-		oportunidade.setCliente(cliente);
-		oportunidade.setUsuario(usuario);
-
-		return oportunidadeRepository.save(oportunidade);
+		existente.setTitulo(oportunidade.getTitulo());
+		existente.setDescricao(oportunidade.getDescricao());
+		existente.setValorEstimado(oportunidade.getValorEstimado());
+		existente.setStatus(oportunidade.getStatus());
+		existente.setDataCriacao(oportunidade.getDataCriacao());
+		existente.setCliente(cliente);
+		existente.setUsuario(usuario);
+
+		Oportunidade atualizada;
+		try {
+			atualizada = oportunidadeRepository.saveAndFlush(existente);
+		} catch (OptimisticLockingFailureException e) {
+			throw conflito(existente.getId());
+		}
+		eventPublisher.publishEvent(OportunidadeEvento.alteracao(atualizada.getId(), anterior, atualizada));
+		return atualizada;
 	}
 
 	@Transactional
-	public Oportunidade update(Long idDaOportunidade, Oportunidade dadosParaAtualizar) {
-		Oportunidade oportunidadeExistente = oportunidadeRepository.findById(idDaOportunidade)
+	public void deleteById(Long id) {
+		Oportunidade oportunidade = oportunidadeRepository.findById(id)
 				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-						"Oportunidade com ID " + idDaOportunidade + " não encontrada para atualização."));
+						"Oportunidade com ID " + id + " não encontrada para exclusão!"));
+		oportunidadeRepository.delete(oportunidade);
+		eventPublisher.publishEvent(OportunidadeEvento.exclusao(id, OportunidadeEvento.Estado.de(oportunidade)));
+	}
 
-		if (dadosParaAtualizar.getTitulo() != null) {
-			oportunidadeExistente.setTitulo(dadosParaAtualizar.getTitulo());
-		}
-		if (dadosParaAtualizar.getDescricao() != null) {
-			oportunidadeExistente.setDescricao(dadosParaAtualizar.getDescricao());
-		}
-		if (dadosParaAtualizar.getValorEstimado() != null) {
-			oportunidadeExistente.setValorEstimado(dadosParaAtualizar.getValorEstimado());
+	@Transactional
+	public Oportunidade atualizarStatusOportunidade(Long id, StatusOportunidade novoStatus) {
+		return atualizarStatusOportunidade(id, novoStatus, null);
+	}
+
+	// A validação usa o estado lido, mas a gravação é um UPDATE condicionado a esse mesmo status (e à versão, com
+	// If-Match): duas requisições simultâneas não conseguem aplicar transições validadas contra um estado antigo.
+	// A leitura vem antes do UPDATE porque o evento (histórico e métricas do funil) precisa do status de origem,
+	// que o UPDATE sobrescreve sem devolver; ela também serve de resposta
+	@Transactional
+	public Oportunidade atualizarStatusOportunidade(Long id, StatusOportunidade novoStatus, Long versaoEsperada) {
+		Oportunidade oportunidade = oportunidadeRepository.findById(id)
+				.orElseThrow(() -> naoEncontrada(id));
+		verificarVersao(oportunidade, versaoEsperada);
+		validarTransicao(oportunidade.getStatus(), novoStatus);
+		OportunidadeEvento.Estado anterior = OportunidadeEvento.Estado.de(oportunidade);
+
+		// 0 linhas: a oportunidade foi excluída (404) ou mudou de status ou versão (409) depois da leitura
+		if (oportunidadeRepository.atualizarStatusSeInalterado(id, oportunidade.getStatus(), novoStatus,
+				versaoEsperada) == 0) {
+			throw oportunidadeRepository.existsById(id) ? conflito(id) : naoEncontrada(id);
 		}
-		if (dadosParaAtualizar.getStatus() != null) {
-			oportunidadeExistente.setStatus(dadosParaAtualizar.getStatus());
+
+		// O UPDATE limpou o contexto de persistência; a instância lida, já desanexada, vira a resposta
+		oportunidade.setStatus(novoStatus);
+		oportunidade.setVersao(oportunidade.getVersao() + 1);
+		eventPublisher.publishEvent(OportunidadeEvento.alteracao(id, anterior, oportunidade));
+		return oportunidade;
+	}
+
+	// Mesmas regras da transição individual, aplicadas com um select ... for update e um UPDATE por status de origem
+	// e bloco de IDs; o histórico é gravado em batch pelo HistoricoStatusService
+	@Transactional
+	public TransicaoEmLoteResultado atualizarStatusEmLote(TransicaoEmLoteDTO pedido) {
+		boolean porIds = pedido.ids() != null && !pedido.ids().isEmpty();
+		if (porIds == (pedido.statusAtual() != null)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Informe a lista de IDs ou o status atual do filtro, não os dois.");
 		}
 
-		if (dadosParaAtualizar.getCliente() != null && dadosParaAtualizar.getCliente().getId() != null) {
-			Long novoClienteId = dadosParaAtualizar.getCliente().getId();
-			if (oportunidadeExistente.getCliente() == null
-					|| !oportunidadeExistente.getCliente().getId().equals(novoClienteId)) {
-				Cliente novoClienteAssociado = clienteRepository.findById(novoClienteId)
-						.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-								"Novo Cliente com ID " + novoClienteId + " não encontrado."));
-				oportunidadeExistente.setCliente(novoClienteAssociado);
+		Set<Long> ids;
+		List<Oportunidade> oportunidades = new ArrayList<>();
+		boolean haMais = false;
+		if (porIds) {
+			ids = new LinkedHashSet<>(pedido.ids());
+			if (ids.size() > LIMITE_TRANSICAO_EM_LOTE) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+						"Máximo de " + LIMITE_TRANSICAO_EM_LOTE + " oportunidades por lote.");
+			}
+			// Os blocos seguem a ordem de id, não a do pedido: cada bloco trava linhas depois das do anterior, e dois lotes
+			// concorrentes com os mesmos IDs em ordens diferentes não esperam um pelo outro em ciclo
+			for (List<Long> bloco : blocos(ids.stream().sorted().toList())) {
+				oportunidades.addAll(oportunidadeRepository.findAllParaTransicao(bloco));
 			}
+		} else {
+			oportunidades = oportunidadeRepository.findParaTransicao(pedido.statusAtual(), pedido.criadaAntesDe(),
+					PageRequest.of(0, LIMITE_TRANSICAO_EM_LOTE + 1));
+			haMais = oportunidades.size() > LIMITE_TRANSICAO_EM_LOTE;
+			if (haMais) {
+				oportunidades = oportunidades.subList(0, LIMITE_TRANSICAO_EM_LOTE);
+			}
+			ids = oportunidades.stream().map(Oportunidade::getId).collect(Collectors.toCollection(LinkedHashSet::new));
 		}
 
-		if (dadosParaAtualizar.getUsuario() != null && dadosParaAtualizar.getUsuario().getId() != null) {
-			Long novoUsuarioId = dadosParaAtualizar.getUsuario().getId();
-			if (oportunidadeExistente.getUsuario() == null
-					|| !oportunidadeExistente.getUsuario().getId().equals(novoUsuarioId)) {
-				Usuario novoUsuarioAssociado = usuarioRepository.findById(novoUsuarioId)
-						.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-								"Novo Usuário com ID " + novoUsuarioId + " não encontrado."));
-				oportunidadeExistente.setUsuario(novoUsuarioAssociado);
+		StatusOportunidade novoStatus = pedido.novoStatus();
+		Map<Long, Oportunidade> porId = oportunidades.stream()
+				.collect(Collectors.toMap(Oportunidade::getId, Function.identity()));
+		Map<StatusOportunidade, List<Long>> porOrigem = new EnumMap<>(StatusOportunidade.class);
+		List<TransicaoEmLoteItem> itens = new ArrayList<>(ids.size());
+		List<OportunidadeEvento> eventos = new ArrayList<>();
+		Instant agora = Instant.now();
+
+		for (Long id : ids) {
+			Oportunidade oportunidade = porId.get(id);
+			if (oportunidade == null) {
+				itens.add(new TransicaoEmLoteItem(id, TransicaoEmLoteItem.Resultado.NAO_ENCONTRADA, null,
+						"Oportunidade não encontrada."));
+				continue;
+			}
+			StatusOportunidade atual = oportunidade.getStatus();
+			if (atual == novoStatus) {
+				itens.add(new TransicaoEmLoteItem(id, TransicaoEmLoteItem.Resultado.JA_NO_STATUS, atual, null));
+			} else if (!atual.permiteTransicaoPara(novoStatus)) {
+				itens.add(new TransicaoEmLoteItem(id, TransicaoEmLoteItem.Resultado.NAO_PERMITIDA, atual,
+						mensagemTransicaoInvalida(atual, novoStatus)));
+			} else {
+				porOrigem.computeIfAbsent(atual, status -> new ArrayList<>()).add(id);
+				itens.add(new TransicaoEmLoteItem(id, TransicaoEmLoteItem.Resultado.APLICADA, atual, null));
+				eventos.add(OportunidadeEvento.transicao(id, OportunidadeEvento.Estado.de(oportunidade), novoStatus,
+						agora));
 			}
 		}
 
-		return oportunidadeRepository.save(oportunidadeExistente);
-	}
+		// As linhas estão bloqueadas desde a leitura, então cada UPDATE altera exatamente os IDs do bloco
+		porOrigem.forEach((origem, idsDaOrigem) -> blocos(idsDaOrigem)
+				.forEach(bloco -> oportunidadeRepository.atualizarStatusEmLote(bloco, origem, novoStatus)));
 
-	@Transactional
-	public void deleteById(Long id) {
-		if (!oportunidadeRepository.existsById(id)) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND,
-				"Oportunidade com ID " + id + " não encontrada para exclusão!");
+		if (!eventos.isEmpty()) {
+			eventPublisher.publishEvent(new TransicoesEmLoteEvento(eventos));
 		}
-		oportunidadeRepository.deleteById(id);
+		return new TransicaoEmLoteResultado(novoStatus, eventos.size(), itens.size() - eventos.size(), haMais, itens);
 	}
 
-	@Transactional
-	public Oportunidade atualizarStatusOportunidade(Long id, StatusOportunidade novoStatus) {
-		Oportunidade oportunidadeExistente = oportunidadeRepository.findById(id)
-				.orElseThrow(
-						() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Oportunidade com ID " + id + " não encontrada!"));
-
-		if (oportunidadeExistente.getStatus() == StatusOportunidade.GANHA && novoStatus == StatusOportunidade.NOVA) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-					"Não é possível reabrir uma oportunidade que já foi GANHA como NOVA.");
-		}
-		if (oportunidadeExistente.getStatus() == StatusOportunidade.GANHA && novoStatus == StatusOportunidade.PERDIDA) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-					"Não é possível mudar uma oportunidade GANHA para PERDIDA.");
+	private static List<List<Long>> blocos(List<Long> ids) {
+		List<List<Long>> blocos = new ArrayList<>();
+		for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_IN) {
+			blocos.add(ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_IN, ids.size())));
 		}
-		if (oportunidadeExistente.getStatus() == StatusOportunidade.NOVA
-				&& !(novoStatus == StatusOportunidade.EM_NEGOCIACAO || novoStatus == StatusOportunidade.PERDIDA)) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-					"Oportunidades NOVAS só podem ir para EM_NEGOCIACAO ou PERDIDA.");
+		return blocos;
+	}
+
+	private static void validarTransicao(StatusOportunidade atual, StatusOportunidade novoStatus) {
+		if (!atual.permiteTransicaoPara(novoStatus)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, mensagemTransicaoInvalida(atual, novoStatus));
 		}
-		if (oportunidadeExistente.getStatus() == StatusOportunidade.EM_NEGOCIACAO
-				&& !(novoStatus == StatusOportunidade.GANHA || novoStatus == StatusOportunidade.PERDIDA
-						|| novoStatus == StatusOportunidade.ARQUIVADA)) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-					"Oportunidades EM_NEGOCIACAO só podem ir para GANHA, PERDIDA ou ARQUIVADA.");
+	}
+
+	private static String mensagemTransicaoInvalida(StatusOportunidade atual, StatusOportunidade novoStatus) {
+		return switch (atual) {
+			case GANHA -> novoStatus == StatusOportunidade.NOVA
+					? "Não é possível reabrir uma oportunidade que já foi GANHA como NOVA."
+					: "Não é possível mudar uma oportunidade GANHA para PERDIDA.";
+			case NOVA -> "Oportunidades NOVAS só podem ir para EM_NEGOCIACAO ou PERDIDA.";
+			case EM_NEGOCIACAO -> "Oportunidades EM_NEGOCIACAO só podem ir para GANHA, PERDIDA ou ARQUIVADA.";
+			default -> "Transição de " + atual + " para " + novoStatus + " não permitida.";
+		};
+	}
+
+	// If-Match com versão diferente da atual: o cliente está editando a partir de uma leitura antiga
+	private static void verificarVersao(Oportunidade oportunidade, Long versaoEsperada) {
+		if (versaoEsperada != null && !versaoEsperada.equals(oportunidade.getVersao())) {
+			throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "A oportunidade com ID "
+					+ oportunidade.getId() + " está na versão " + oportunidade.getVersao() + ", não na " + versaoEsperada + ".");
 		}
+	}
+
+	private static ResponseStatusException naoEncontrada(Long id) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "Oportunidade com ID " + id + " não encontrada!");
+	}
 
-		oportunidadeExistente.setStatus(novoStatus);
-		return oportunidadeRepository.save(oportunidadeExistente);
+	private static ResponseStatusException conflito(Long id) {
+		return new ResponseStatusException(HttpStatus.CONFLICT, "A oportunidade com ID " + id
+				+ " foi alterada por outra requisição. Consulte o estado atual e tente novamente.");
 	}
-}
\ No newline at end of file
+}
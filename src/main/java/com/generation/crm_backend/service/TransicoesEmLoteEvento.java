@@ -0,0 +1,7 @@
+package com.generation.crm_backend.service;
+
+import java.util.List;
+
+// Transições aplicadas por um UPDATE em lote, publicadas de uma vez para que o histórico seja gravado em batch
+public record TransicoesEmLoteEvento(List<OportunidadeEvento> eventos) {
+}
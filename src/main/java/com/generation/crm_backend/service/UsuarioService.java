@@ -1,15 +1,19 @@
 package com.generation.crm_backend.service;
 
+import com.generation.crm_backend.dto.UsuarioResumo;
 import com.generation.crm_backend.model.Usuario;
 import com.generation.crm_backend.repository.UsuarioRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.observation.annotation.Observed;
+
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "crm.servico")
 public class UsuarioService {
 
     @Autowired
@@ -20,6 +24,11 @@ public class UsuarioService {
         return usuarioRepository.findAll();
     }
 
+    // Buscar todos os usuários com apenas os campos da listagem
+    public List<UsuarioResumo> findAllResumo() {
+        return usuarioRepository.findAllResumo();
+    }
+
     // Buscar usuário por ID
     public Optional<Usuario> findById(Long id) {
         return usuarioRepository.findById(id);
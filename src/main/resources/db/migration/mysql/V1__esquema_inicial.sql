@@ -0,0 +1,44 @@
+-- Esquema inicial, equivalente ao que o ddl-auto=update gerava a partir das entidades.
+-- Bancos que já existiam são marcados nesta versão pelo baseline-on-migrate e partem do V2.
+
+create table tb_usuarios (
+    id bigint not null auto_increment primary key,
+    nome varchar(255) not null,
+    email varchar(255) not null,
+    senha varchar(255) not null,
+    foto varchar(5000),
+    telefone varchar(20),
+    cargo varchar(100) not null,
+    constraint uk_usuarios_email unique (email)
+) engine = InnoDB;
+
+create table tb_clientes (
+    id bigint not null auto_increment primary key,
+    nome varchar(100) not null,
+    email varchar(100) not null,
+    foto varchar(5000),
+    telefone varchar(20),
+    tipo_pessoa enum ('FISICA', 'JURIDICA') not null,
+    cpf varchar(14),
+    cnpj varchar(18),
+    lead_score float,
+    created_at datetime(6) not null,
+    updated_at datetime(6) not null,
+    constraint uk_clientes_email unique (email),
+    constraint uk_clientes_telefone unique (telefone),
+    constraint uk_clientes_cpf unique (cpf),
+    constraint uk_clientes_cnpj unique (cnpj)
+) engine = InnoDB;
+
+create table tb_oportunidades (
+    id bigint not null auto_increment primary key,
+    titulo varchar(100) not null,
+    descricao varchar(1000),
+    valor_estimado decimal(10, 2) not null,
+    status_oportunidade enum ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA') not null,
+    data_criacao date not null,
+    usuario_id bigint not null,
+    cliente_id bigint not null,
+    constraint fk_oportunidades_usuario foreign key (usuario_id) references tb_usuarios (id),
+    constraint fk_oportunidades_cliente foreign key (cliente_id) references tb_clientes (id)
+) engine = InnoDB;
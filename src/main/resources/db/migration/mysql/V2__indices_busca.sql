@@ -0,0 +1,14 @@
+-- Índices funcionais (MySQL 8.0.13+) sobre upper(coluna), a mesma expressão gerada pelo Spring Data
+-- para as buscas IgnoreCase. Atendem igualdade e like com prefixo fixo.
+--
+-- A busca por substring (like '%x%') continua varrendo a tabela no MySQL: um índice FULLTEXT só é usado
+-- por MATCH ... AGAINST, com semântica de palavras diferente do like. Em produção (PostgreSQL) essa busca
+-- usa índices de trigramas; o MySQL fica restrito ao ambiente de desenvolvimento.
+
+create index idx_clientes_email_upper on tb_clientes ((upper(email)));
+
+create index idx_clientes_nome_upper on tb_clientes ((upper(nome)));
+
+create index idx_oportunidades_titulo_upper on tb_oportunidades ((upper(titulo)));
+
+create index idx_usuarios_email_upper on tb_usuarios ((upper(email)));
@@ -0,0 +1,11 @@
+-- Índices das colunas usadas pelos filtros paginados.
+-- cliente_id e usuario_id já têm índice: o InnoDB cria um para cada chave estrangeira.
+
+-- GET /oportunidades/status e busca por status com período de criação
+create index idx_oportunidades_status_data on tb_oportunidades (status_oportunidade, data_criacao);
+
+-- GET /clientes/tipoPessoa/{tipo}, ordenado por nome
+create index idx_clientes_tipo_nome on tb_clientes (tipo_pessoa, nome);
+
+-- GET /clientes/leadScore, /leadScore/maior e /leadScore/menor
+create index idx_clientes_lead_score on tb_clientes (lead_score);
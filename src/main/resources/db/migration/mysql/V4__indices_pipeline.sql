@@ -0,0 +1,9 @@
+-- Índices de cobertura para os agregados do funil (group by status, usuário e cliente).
+-- O MySQL não tem INCLUDE, então o valor estimado entra como última coluna da chave.
+-- Os índices de usuário e cliente também atendem as chaves estrangeiras (coluna líder).
+
+create index idx_oportunidades_status_valor on tb_oportunidades (status_oportunidade, valor_estimado);
+
+create index idx_oportunidades_usuario on tb_oportunidades (usuario_id, status_oportunidade, valor_estimado);
+
+create index idx_oportunidades_cliente on tb_oportunidades (cliente_id, status_oportunidade, valor_estimado);
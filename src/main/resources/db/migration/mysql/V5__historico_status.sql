@@ -0,0 +1,19 @@
+-- Histórico somente de inclusão das mudanças de status das oportunidades.
+-- Sem chave estrangeira para tb_oportunidades: o histórico sobrevive à exclusão da oportunidade
+-- e a inclusão não precisa travar a linha pai.
+
+create table tb_historico_status (
+    id bigint not null auto_increment primary key,
+    oportunidade_id bigint not null,
+    status_anterior enum ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA'),
+    status_novo enum ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA') not null,
+    data_transicao datetime(6) not null,
+    usuario_id bigint not null,
+    duracao_status_anterior_segundos bigint
+) engine = InnoDB;
+
+-- Linha do tempo de uma oportunidade e última transição (cálculo da duração na gravação)
+create index idx_historico_oportunidade_data on tb_historico_status (oportunidade_id, data_transicao);
+
+-- Relatórios por período
+create index idx_historico_data on tb_historico_status (data_transicao);
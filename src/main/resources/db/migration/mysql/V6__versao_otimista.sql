@@ -0,0 +1,6 @@
+-- Coluna de versão para o controle de concorrência otimista (@Version) de oportunidades e clientes.
+-- ALGORITHM=INSTANT altera só o dicionário de dados, sem copiar as tabelas.
+
+alter table tb_oportunidades add column versao bigint not null default 0, algorithm = instant;
+
+alter table tb_clientes add column versao bigint not null default 0, algorithm = instant;
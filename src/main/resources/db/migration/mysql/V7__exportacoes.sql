@@ -0,0 +1,23 @@
+-- Jobs de exportação assíncrona. O arquivo fica em disco (crm.exportacao.diretorio); a tabela guarda filtros,
+-- situação e o checkpoint (último id, linhas e bytes) para retomar a escrita depois de um reinício.
+
+create table tb_exportacoes (
+    id bigint not null auto_increment primary key,
+    entidade enum ('CLIENTES', 'OPORTUNIDADES') not null,
+    formato enum ('CSV', 'NDJSON') not null,
+    tipo_pessoa enum ('FISICA', 'JURIDICA'),
+    lead_score_minimo float,
+    status_oportunidade enum ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA'),
+    situacao enum ('PENDENTE', 'EM_EXECUCAO', 'CONCLUIDA', 'FALHOU') not null,
+    linhas bigint not null default 0,
+    bytes bigint not null default 0,
+    ultimo_id bigint not null default 0,
+    execucao integer not null default 0,
+    erro varchar(1000),
+    criada_em datetime(6) not null,
+    atualizada_em datetime(6) not null,
+    concluida_em datetime(6)
+) engine = InnoDB;
+
+-- Busca periódica dos jobs pendentes ou parados
+create index idx_exportacoes_situacao on tb_exportacoes (situacao, atualizada_em);
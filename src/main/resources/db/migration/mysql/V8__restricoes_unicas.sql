@@ -0,0 +1,53 @@
+-- Bancos que já existiam foram marcados no V1 pelo baseline-on-migrate e nunca rodaram o esquema inicial: os índices
+-- únicos têm os nomes gerados pelo Hibernate (UK + hash) e o telefone não é único. Para cada coluna, o índice único
+-- existente é renomeado para o nome do V1 ou criado quando falta. Em bancos criados pelo V1 nada é alterado.
+
+-- Telefones gravados antes da normalização: só dígitos, e vazio vira null, como nos setters da entidade.
+-- Telefones repetidos impedem a criação de uk_clientes_telefone; para encontrá-los:
+--   select telefone, count(*) from tb_clientes where telefone is not null group by telefone having count(*) > 1;
+update tb_clientes set telefone = nullif(regexp_replace(telefone, '[^0-9]', ''), '')
+where telefone is not null and telefone regexp '[^0-9]|^$';
+
+drop procedure if exists crm_nomear_unica;
+
+delimiter //
+
+create procedure crm_nomear_unica(in tabela varchar(64), in coluna varchar(64), in nome varchar(64))
+begin
+    declare existente varchar(64) default null;
+
+    -- Índice único só sobre a coluna, preferindo o que já tem o nome esperado
+    select s.index_name into existente
+    from information_schema.statistics s
+    where s.table_schema = database() and s.table_name = tabela and s.column_name = coluna
+      and s.non_unique = 0 and s.index_name <> 'PRIMARY'
+      and not exists (select 1 from information_schema.statistics o
+          where o.table_schema = s.table_schema and o.table_name = s.table_name
+            and o.index_name = s.index_name and o.seq_in_index > 1)
+    order by s.index_name = nome desc
+    limit 1;
+
+    if existente is null then
+        set @ddl = concat('alter table ', tabela, ' add constraint ', nome, ' unique (', coluna, ')');
+    elseif existente <> nome then
+        set @ddl = concat('alter table ', tabela, ' rename index `', existente, '` to ', nome);
+    else
+        set @ddl = null;
+    end if;
+
+    if @ddl is not null then
+        prepare comando from @ddl;
+        execute comando;
+        deallocate prepare comando;
+    end if;
+end //
+
+delimiter ;
+
+call crm_nomear_unica('tb_usuarios', 'email', 'uk_usuarios_email');
+call crm_nomear_unica('tb_clientes', 'email', 'uk_clientes_email');
+call crm_nomear_unica('tb_clientes', 'telefone', 'uk_clientes_telefone');
+call crm_nomear_unica('tb_clientes', 'cpf', 'uk_clientes_cpf');
+call crm_nomear_unica('tb_clientes', 'cnpj', 'uk_clientes_cnpj');
+
+drop procedure crm_nomear_unica;
@@ -0,0 +1,45 @@
+-- Esquema inicial, equivalente ao que o ddl-auto=update gerava a partir das entidades.
+-- Bancos que já existiam são marcados nesta versão pelo baseline-on-migrate e partem do V2.
+
+create table tb_usuarios (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    email varchar(255) not null,
+    senha varchar(255) not null,
+    foto varchar(5000),
+    telefone varchar(20),
+    cargo varchar(100) not null,
+    constraint uk_usuarios_email unique (email)
+);
+
+create table tb_clientes (
+    id bigint generated by default as identity primary key,
+    nome varchar(100) not null,
+    email varchar(100) not null,
+    foto varchar(5000),
+    telefone varchar(20),
+    tipo_pessoa varchar(10) not null check (tipo_pessoa in ('FISICA', 'JURIDICA')),
+    cpf varchar(14),
+    cnpj varchar(18),
+    lead_score real,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    constraint uk_clientes_email unique (email),
+    constraint uk_clientes_telefone unique (telefone),
+    constraint uk_clientes_cpf unique (cpf),
+    constraint uk_clientes_cnpj unique (cnpj)
+);
+
+create table tb_oportunidades (
+    id bigint generated by default as identity primary key,
+    titulo varchar(100) not null,
+    descricao varchar(1000),
+    valor_estimado numeric(10, 2) not null,
+    status_oportunidade varchar(50) not null
+        check (status_oportunidade in ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA')),
+    data_criacao date not null,
+    usuario_id bigint not null,
+    cliente_id bigint not null,
+    constraint fk_oportunidades_usuario foreign key (usuario_id) references tb_usuarios (id),
+    constraint fk_oportunidades_cliente foreign key (cliente_id) references tb_clientes (id)
+);
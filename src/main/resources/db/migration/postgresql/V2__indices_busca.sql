@@ -0,0 +1,16 @@
+-- Índices para as buscas case-insensitive. O Spring Data gera upper(coluna) = upper(?) e
+-- upper(coluna) like upper(?), então os índices são sobre upper(coluna) para o planejador reconhecer a expressão.
+
+-- Busca por substring (nome do cliente, título da oportunidade): like '%x%' não usa B-tree;
+-- o índice GIN de trigramas atende o like com curinga no início.
+create extension if not exists pg_trgm;
+
+create index idx_clientes_nome_trgm on tb_clientes using gin (upper(nome) gin_trgm_ops);
+
+create index idx_oportunidades_titulo_trgm on tb_oportunidades using gin (upper(titulo) gin_trgm_ops);
+
+-- Busca exata por e-mail ignorando maiúsculas (GET /clientes/email/{email} e verificação de conflitos).
+-- O telefone é gravado só com dígitos e buscado por igualdade, usando o índice de uk_clientes_telefone.
+create index idx_clientes_email_upper on tb_clientes (upper(email));
+
+create index idx_usuarios_email_upper on tb_usuarios (upper(email));
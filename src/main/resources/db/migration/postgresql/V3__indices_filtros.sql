@@ -0,0 +1,15 @@
+-- Índices das chaves estrangeiras e das colunas usadas pelos filtros paginados.
+-- O PostgreSQL não cria índice para chave estrangeira automaticamente.
+
+create index idx_oportunidades_cliente on tb_oportunidades (cliente_id);
+
+create index idx_oportunidades_usuario on tb_oportunidades (usuario_id);
+
+-- GET /oportunidades/status e busca por status com período de criação
+create index idx_oportunidades_status_data on tb_oportunidades (status_oportunidade, data_criacao);
+
+-- GET /clientes/tipoPessoa/{tipo}, ordenado por nome
+create index idx_clientes_tipo_nome on tb_clientes (tipo_pessoa, nome);
+
+-- GET /clientes/leadScore, /leadScore/maior e /leadScore/menor
+create index idx_clientes_lead_score on tb_clientes (lead_score);
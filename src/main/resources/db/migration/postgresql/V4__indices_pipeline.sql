@@ -0,0 +1,11 @@
+-- Índices de cobertura para os agregados do funil (group by status, usuário e cliente):
+-- o valor estimado vai no próprio índice, permitindo index-only scan sem ler a tabela.
+
+create index idx_oportunidades_status_valor on tb_oportunidades (status_oportunidade) include (valor_estimado);
+
+-- Substituem os índices simples das chaves estrangeiras da V3, que passam a ser prefixo destes
+drop index idx_oportunidades_usuario;
+create index idx_oportunidades_usuario on tb_oportunidades (usuario_id, status_oportunidade) include (valor_estimado);
+
+drop index idx_oportunidades_cliente;
+create index idx_oportunidades_cliente on tb_oportunidades (cliente_id, status_oportunidade) include (valor_estimado);
@@ -0,0 +1,22 @@
+-- Histórico somente de inclusão das mudanças de status das oportunidades.
+-- Sem chave estrangeira para tb_oportunidades: o histórico sobrevive à exclusão da oportunidade
+-- e a inclusão não precisa travar a linha pai.
+
+create table tb_historico_status (
+    id bigint generated by default as identity primary key,
+    oportunidade_id bigint not null,
+    status_anterior varchar(50)
+        check (status_anterior in ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA')),
+    status_novo varchar(50) not null
+        check (status_novo in ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA')),
+    data_transicao timestamp(6) not null,
+    usuario_id bigint not null,
+    duracao_status_anterior_segundos bigint
+);
+
+-- Linha do tempo de uma oportunidade e última transição (cálculo da duração na gravação)
+create index idx_historico_oportunidade_data on tb_historico_status (oportunidade_id, data_transicao);
+
+-- As linhas chegam em ordem de data_transicao, então um BRIN resume cada faixa de páginas com poucos bytes
+-- e poda os relatórios por período sem o custo de manter uma B-tree do tamanho da tabela
+create index idx_historico_data on tb_historico_status using brin (data_transicao);
@@ -0,0 +1,6 @@
+-- Coluna de versão para o controle de concorrência otimista (@Version) de oportunidades e clientes.
+-- Com default constante o PostgreSQL só altera o catálogo, sem reescrever as tabelas.
+
+alter table tb_oportunidades add column versao bigint not null default 0;
+
+alter table tb_clientes add column versao bigint not null default 0;
@@ -0,0 +1,24 @@
+-- Jobs de exportação assíncrona. O arquivo fica em disco (crm.exportacao.diretorio); a tabela guarda filtros,
+-- situação e o checkpoint (último id, linhas e bytes) para retomar a escrita depois de um reinício.
+
+create table tb_exportacoes (
+    id bigint generated by default as identity primary key,
+    entidade varchar(20) not null check (entidade in ('CLIENTES', 'OPORTUNIDADES')),
+    formato varchar(10) not null check (formato in ('CSV', 'NDJSON')),
+    tipo_pessoa varchar(10) check (tipo_pessoa in ('FISICA', 'JURIDICA')),
+    lead_score_minimo real,
+    status_oportunidade varchar(50)
+        check (status_oportunidade in ('NOVA', 'EM_NEGOCIACAO', 'GANHA', 'PERDIDA', 'ARQUIVADA')),
+    situacao varchar(20) not null check (situacao in ('PENDENTE', 'EM_EXECUCAO', 'CONCLUIDA', 'FALHOU')),
+    linhas bigint not null default 0,
+    bytes bigint not null default 0,
+    ultimo_id bigint not null default 0,
+    execucao integer not null default 0,
+    erro varchar(1000),
+    criada_em timestamp(6) not null,
+    atualizada_em timestamp(6) not null,
+    concluida_em timestamp(6)
+);
+
+-- Busca periódica dos jobs pendentes ou parados
+create index idx_exportacoes_situacao on tb_exportacoes (situacao, atualizada_em);
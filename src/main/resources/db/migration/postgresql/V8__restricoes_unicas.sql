@@ -0,0 +1,39 @@
+-- Bancos que já existiam foram marcados no V1 pelo baseline-on-migrate e nunca rodaram o esquema inicial: as
+-- restrições únicas têm os nomes gerados pelo Hibernate (uk + hash) e o telefone não é único. Para cada coluna, a
+-- restrição única existente é renomeada para o nome do V1 (o índice acompanha) ou criada quando falta.
+-- Em bancos criados pelo V1 nada é alterado.
+
+-- Telefones gravados antes da normalização: só dígitos, e vazio vira null, como nos setters da entidade.
+-- Telefones repetidos impedem a criação de uk_clientes_telefone; para encontrá-los:
+--   select telefone, count(*) from tb_clientes where telefone is not null group by telefone having count(*) > 1;
+update tb_clientes set telefone = nullif(regexp_replace(telefone, '[^0-9]', '', 'g'), '')
+where telefone is not null and telefone !~ '^[0-9]+$';
+
+do $$
+declare
+    alvo record;
+    existente text;
+begin
+    for alvo in select * from (values
+            ('tb_usuarios', 'email', 'uk_usuarios_email'),
+            ('tb_clientes', 'email', 'uk_clientes_email'),
+            ('tb_clientes', 'telefone', 'uk_clientes_telefone'),
+            ('tb_clientes', 'cpf', 'uk_clientes_cpf'),
+            ('tb_clientes', 'cnpj', 'uk_clientes_cnpj')) as t (tabela, coluna, nome)
+    loop
+        -- Restrição única só sobre a coluna, preferindo a que já tem o nome esperado
+        select c.conname into existente
+        from pg_constraint c
+        join pg_attribute a on a.attrelid = c.conrelid and a.attnum = c.conkey[1]
+        where c.conrelid = alvo.tabela::regclass and c.contype = 'u'
+          and cardinality(c.conkey) = 1 and a.attname = alvo.coluna
+        order by c.conname = alvo.nome desc
+        limit 1;
+
+        if existente is null then
+            execute format('alter table %I add constraint %I unique (%I)', alvo.tabela, alvo.nome, alvo.coluna);
+        elsif existente <> alvo.nome then
+            execute format('alter table %I rename constraint %I to %I', alvo.tabela, existente, alvo.nome);
+        end if;
+    end loop;
+end $$;
@@ -0,0 +1,92 @@
+package com.generation.crm_backend;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.model.Usuario;
+import com.generation.crm_backend.repository.ClienteRepository;
+import com.generation.crm_backend.repository.ExportacaoRepository;
+import com.generation.crm_backend.repository.HistoricoStatusRepository;
+import com.generation.crm_backend.repository.OportunidadeRepository;
+import com.generation.crm_backend.repository.UsuarioRepository;
+
+// Base dos testes de integração: aplicação inteira sobre o H2 do perfil "test", MockMvc e a massa mínima
+// (usuário, cliente e oportunidade), apagada depois de cada teste na ordem das chaves estrangeiras
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+public abstract class TesteDeIntegracao {
+
+	@Autowired
+	protected MockMvc mockMvc;
+
+	@Autowired
+	protected UsuarioRepository usuarioRepository;
+
+	@Autowired
+	protected ClienteRepository clienteRepository;
+
+	@Autowired
+	protected OportunidadeRepository oportunidadeRepository;
+
+	@Autowired
+	protected HistoricoStatusRepository historicoStatusRepository;
+
+	@Autowired
+	protected ExportacaoRepository exportacaoRepository;
+
+	@AfterEach
+	void limparBanco() {
+		exportacaoRepository.deleteAllInBatch();
+		historicoStatusRepository.deleteAllInBatch();
+		oportunidadeRepository.deleteAllInBatch();
+		clienteRepository.deleteAllInBatch();
+		usuarioRepository.deleteAllInBatch();
+	}
+
+	protected Usuario criarUsuario(String email) {
+		Usuario usuario = new Usuario();
+		usuario.setNome("Vendedor");
+		usuario.setEmail(email);
+		usuario.setSenha("12345678");
+		usuario.setCargo("Vendas");
+		return usuarioRepository.save(usuario);
+	}
+
+	protected Cliente novoCliente(String nome, String email, TipoPessoa tipoPessoa, Float leadScore) {
+		Cliente cliente = new Cliente();
+		cliente.setNome(nome);
+		cliente.setEmail(email);
+		cliente.setTipoPessoa(tipoPessoa);
+		cliente.setLeadScore(leadScore);
+		return cliente;
+	}
+
+	protected Cliente criarCliente(String nome, String email, TipoPessoa tipoPessoa, Float leadScore) {
+		return clienteRepository.save(novoCliente(nome, email, tipoPessoa, leadScore));
+	}
+
+	// Não persistida: os testes gravam pelo OportunidadeService para que os eventos sejam publicados
+	protected Oportunidade novaOportunidade(Cliente cliente, Usuario usuario, StatusOportunidade status,
+			String valorEstimado) {
+		Oportunidade oportunidade = new Oportunidade();
+		oportunidade.setTitulo("Oportunidade de teste");
+		oportunidade.setValorEstimado(new BigDecimal(valorEstimado));
+		oportunidade.setStatus(status);
+		oportunidade.setCliente(cliente);
+		oportunidade.setUsuario(usuario);
+		return oportunidade;
+	}
+}
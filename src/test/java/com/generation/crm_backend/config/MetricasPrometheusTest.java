@@ -0,0 +1,28 @@
+package com.generation.crm_backend.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+
+import com.generation.crm_backend.TesteDeIntegracao;
+
+// O scrape do Prometheus traz os histogramas das rotas, o timer dos services e as métricas do Hibernate
+@AutoConfigureObservability
+class MetricasPrometheusTest extends TesteDeIntegracao {
+
+	@Test
+	void scrapeExpoeRotasServicesEHibernate() throws Exception {
+		mockMvc.perform(get("/usuarios/all").param("view", "summary")).andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+				.andExpect(content().string(containsString("uri=\"/usuarios/all\"")))
+				.andExpect(content().string(containsString("crm_servico_seconds_bucket")))
+				.andExpect(content().string(containsString("hibernate_query_executions")));
+	}
+}
@@ -0,0 +1,72 @@
+package com.generation.crm_backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.generation.crm_backend.TesteDeIntegracao;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+
+// GET /clientes com Accept: application/x-ndjson: uma linha por cliente, em ordem de id e além dos blocos de flush;
+// sem o Accept a listagem continua paginada
+class ListagemNdjsonTest extends TesteDeIntegracao {
+
+	private static final int CLIENTES = 1_200;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@BeforeEach
+	void setUp() {
+		List<Cliente> clientes = new ArrayList<>(CLIENTES);
+		for (int i = 0; i < CLIENTES; i++) {
+			clientes.add(novoCliente("Cliente " + i, "cliente" + i + "@crm.com", TipoPessoa.FISICA, 5f));
+		}
+		clienteRepository.saveAll(clientes);
+	}
+
+	@Test
+	void listagemDeClientesEmNdjson() throws Exception {
+		String corpo = mockMvc.perform(get("/clientes").header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(corpo).endsWith("\n");
+		List<String> linhas = corpo.lines().toList();
+		assertThat(linhas).hasSize(CLIENTES);
+
+		long idAnterior = 0;
+		for (String linha : linhas) {
+			JsonNode cliente = objectMapper.readTree(linha);
+			assertThat(cliente.get("id").asLong()).isGreaterThan(idAnterior);
+			idAnterior = cliente.get("id").asLong();
+		}
+		assertThat(objectMapper.readTree(linhas.get(0)).get("nome").asText()).isEqualTo("Cliente 0");
+
+		String resumo = mockMvc.perform(get("/clientes").param("view", "summary")
+				.header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(resumo.lines()).hasSize(CLIENTES);
+		assertThat(objectMapper.readTree(resumo.lines().findFirst().orElseThrow()).has("versao")).isFalse();
+
+		mockMvc.perform(get("/clientes").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.content.length()").value(10));
+	}
+}
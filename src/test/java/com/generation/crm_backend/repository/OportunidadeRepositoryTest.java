@@ -0,0 +1,158 @@
+package com.generation.crm_backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.generation.crm_backend.dto.OportunidadeFiltroDTO;
+import com.generation.crm_backend.dto.OportunidadeResumo;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.model.Usuario;
+
+// Garante que cada consulta de oportunidades traga cliente e usuário sem N+1
+@DataJpaTest
+@ActiveProfiles("test")
+class OportunidadeRepositoryTest {
+
+	@Autowired
+	private OportunidadeRepository oportunidadeRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics estatisticas;
+
+	private Cliente primeiroCliente;
+
+	private Usuario primeiroUsuario;
+
+	@BeforeEach
+	void setUp() {
+		List<Usuario> usuarios = List.of(persistirUsuario("vendedor1@crm.com"), persistirUsuario("vendedor2@crm.com"));
+		List<Cliente> clientes = List.of(persistirCliente("cliente1@crm.com"), persistirCliente("cliente2@crm.com"),
+				persistirCliente("cliente3@crm.com"));
+
+		for (int i = 0; i < 6; i++) {
+			Oportunidade oportunidade = new Oportunidade();
+			oportunidade.setTitulo("Oportunidade " + i);
+			oportunidade.setValorEstimado(new BigDecimal("1000.00"));
+			oportunidade.setCliente(clientes.get(i % clientes.size()));
+			oportunidade.setUsuario(usuarios.get(i % usuarios.size()));
+			entityManager.persist(oportunidade);
+		}
+
+		primeiroCliente = clientes.get(0);
+		primeiroUsuario = usuarios.get(0);
+
+		entityManager.flush();
+		entityManager.clear();
+
+		estatisticas = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		estatisticas.clear();
+	}
+
+	@Test
+	void findAllCarregaClienteEUsuarioEmUmaConsulta() {
+		assertUmaConsulta(oportunidadeRepository.findAll(), 6);
+	}
+
+	@Test
+	void findByStatusCarregaClienteEUsuarioEmUmaConsulta() {
+		assertUmaConsulta(oportunidadeRepository.findByStatus(StatusOportunidade.NOVA), 6);
+	}
+
+	@Test
+	void findByClienteIdCarregaClienteEUsuarioEmUmaConsulta() {
+		assertUmaConsulta(oportunidadeRepository.findByClienteId(primeiroCliente.getId()), 2);
+	}
+
+	@Test
+	void findByUsuarioIdCarregaClienteEUsuarioEmUmaConsulta() {
+		assertUmaConsulta(oportunidadeRepository.findByUsuarioId(primeiroUsuario.getId()), 3);
+	}
+
+	@Test
+	void findAllByTituloCarregaClienteEUsuarioEmUmaConsulta() {
+		assertUmaConsulta(oportunidadeRepository.findAllByTituloContainingIgnoreCase("oportunidade"), 6);
+	}
+
+	@Test
+	void buscaPaginadaUsaApenasConsultaEContagem() {
+		OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(StatusOportunidade.NOVA, null, null, null, null, null,
+				null, null);
+
+		Page<Oportunidade> pagina = oportunidadeRepository.findAll(OportunidadeSpecifications.comFiltro(filtro),
+				PageRequest.of(0, 2));
+		percorrerAssociacoes(pagina.getContent());
+
+		assertThat(pagina.getTotalElements()).isEqualTo(6);
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void buscaResumidaFiltraEOrdenaSemCarregarEntidades() {
+		OportunidadeFiltroDTO filtro = new OportunidadeFiltroDTO(null, primeiroCliente.getId(), null, null, null, null,
+				null, null);
+
+		Page<OportunidadeResumo> pagina = oportunidadeRepository.findResumo(
+				OportunidadeSpecifications.comFiltro(filtro), PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")));
+
+		assertThat(pagina.getTotalElements()).isEqualTo(2);
+		assertThat(pagina.getContent()).singleElement().satisfies(resumo -> {
+			assertThat(resumo.titulo()).isEqualTo("Oportunidade 3");
+			assertThat(resumo.clienteId()).isEqualTo(primeiroCliente.getId());
+			assertThat(resumo.usuarioNome()).isEqualTo("Vendedor");
+		});
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+		assertThat(estatisticas.getEntityLoadCount()).isZero();
+	}
+
+	private void assertUmaConsulta(List<Oportunidade> oportunidades, int esperadas) {
+		percorrerAssociacoes(oportunidades);
+
+		assertThat(oportunidades).hasSize(esperadas);
+		assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	// Simula a serialização, que lê os dados de cliente e usuário de cada oportunidade
+	private void percorrerAssociacoes(List<Oportunidade> oportunidades) {
+		oportunidades.forEach(oportunidade -> {
+			assertThat(oportunidade.getCliente().getNome()).isNotBlank();
+			assertThat(oportunidade.getUsuario().getNome()).isNotBlank();
+		});
+	}
+
+	private Usuario persistirUsuario(String email) {
+		Usuario usuario = new Usuario();
+		usuario.setNome("Vendedor");
+		usuario.setEmail(email);
+		usuario.setSenha("12345678");
+		usuario.setCargo("Vendas");
+		return entityManager.persist(usuario);
+	}
+
+	private Cliente persistirCliente(String email) {
+		Cliente cliente = new Cliente();
+		cliente.setNome("Cliente Teste");
+		cliente.setEmail(email);
+		cliente.setTipoPessoa(TipoPessoa.JURIDICA);
+		return entityManager.persist(cliente);
+	}
+}
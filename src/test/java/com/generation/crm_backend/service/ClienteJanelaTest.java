@@ -0,0 +1,57 @@
+package com.generation.crm_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.crm_backend.TesteDeIntegracao;
+import com.generation.crm_backend.dto.JanelaDTO;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+
+// Paginação por cursor ordenada por leadScore, que é opcional: a comparação do keyset com um valor nulo pularia linhas
+class ClienteJanelaTest extends TesteDeIntegracao {
+
+	@Autowired
+	private ClienteService clienteService;
+
+	@BeforeEach
+	void setUp() {
+		criarCliente("Cliente A", "a@crm.com", TipoPessoa.FISICA, 7f);
+		criarCliente("Cliente B", "b@crm.com", TipoPessoa.FISICA, null);
+		criarCliente("Cliente C", "c@crm.com", TipoPessoa.JURIDICA, 3f);
+		criarCliente("Cliente D", "d@crm.com", TipoPessoa.JURIDICA, 7f);
+		criarCliente("Cliente E", "e@crm.com", TipoPessoa.FISICA, null);
+	}
+
+	@Test
+	void listagemGeralNaoAceitaLeadScoreComoChaveDoCursor() {
+		assertThatThrownBy(() -> clienteService.getAllJanela("", 2, "leadScore", "asc"))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+
+	@Test
+	void buscaPorLeadScorePercorreTodasAsJanelasSemRepetir() {
+		List<String> nomes = new ArrayList<>();
+		String cursor = "";
+		do {
+			JanelaDTO<Cliente> janela = clienteService.getAllByLeadScoreGreaterThanEqualJanela(0f, cursor, 2,
+					"leadScore", "desc");
+			janela.conteudo().forEach(cliente -> nomes.add(cliente.getNome()));
+			cursor = janela.proximoCursor();
+		} while (cursor != null);
+
+		// O desempate entre A e D fica com o id acrescentado pelo Spring Data
+		assertThat(nomes).hasSize(3).containsExactlyInAnyOrder("Cliente A", "Cliente C", "Cliente D");
+		assertThat(nomes.get(2)).isEqualTo("Cliente C");
+	}
+}
@@ -0,0 +1,139 @@
+package com.generation.crm_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+
+import com.generation.crm_backend.TesteDeIntegracao;
+import com.generation.crm_backend.dto.ExportacaoPedidoDTO;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.Exportacao;
+import com.generation.crm_backend.model.Exportacao.Entidade;
+import com.generation.crm_backend.model.Exportacao.Formato;
+import com.generation.crm_backend.model.Exportacao.Situacao;
+
+// Job de exportação de ponta a ponta: filtros, arquivo em disco, retomada a partir do checkpoint e download com Range
+@TestPropertySource(properties = "crm.exportacao.diretorio=${java.io.tmpdir}/crm-exportacoes-teste")
+class ExportacaoServiceTest extends TesteDeIntegracao {
+
+	@Autowired
+	private ExportacaoService exportacaoService;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 5; i++) {
+			criarCliente("Empresa " + i, "empresa" + i + "@crm.com", TipoPessoa.JURIDICA, (float) i * 2);
+		}
+	}
+
+	@Test
+	void exportacaoCsvAplicaFiltrosEPermiteDownloadParcial() throws Exception {
+		Exportacao pedida = exportacaoService.solicitar(
+				new ExportacaoPedidoDTO(Entidade.CLIENTES, Formato.CSV, TipoPessoa.JURIDICA, 4f, null));
+
+		Exportacao concluida = aguardarConclusao(pedida.getId());
+		assertThat(concluida.getSituacao()).isEqualTo(Situacao.CONCLUIDA);
+		assertThat(concluida.getLinhas()).isEqualTo(3);
+
+		byte[] conteudo = Files.readAllBytes(exportacaoService.getArquivo(pedida.getId()).caminho());
+		assertThat(conteudo).hasSize((int) concluida.getBytes());
+		List<String> linhas = new String(conteudo, StandardCharsets.UTF_8).lines().toList();
+		assertThat(linhas).hasSize(4);
+		assertThat(linhas.get(0)).startsWith("\"id\",\"nome\"");
+
+		mockMvc.perform(get("/exportacoes/{id}/arquivo", pedida.getId()).header(HttpHeaders.RANGE, "bytes=10-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+						"bytes 10-" + (conteudo.length - 1) + "/" + conteudo.length))
+				.andExpect(content().bytes(Arrays.copyOfRange(conteudo, 10, conteudo.length)));
+
+		mockMvc.perform(get("/exportacoes/{id}/arquivo", pedida.getId())
+				.header(HttpHeaders.RANGE, "bytes=" + conteudo.length + "-"))
+				.andExpect(status().isRequestedRangeNotSatisfiable())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + conteudo.length));
+
+		// Sinais não são dígitos: o Range é ignorado e o arquivo inteiro é enviado
+		for (String range : List.of("bytes=--5", "bytes=+0-", "bytes=-+5", "bytes=-")) {
+			mockMvc.perform(get("/exportacoes/{id}/arquivo", pedida.getId()).header(HttpHeaders.RANGE, range))
+					.andExpect(status().isOk())
+					.andExpect(content().bytes(conteudo));
+		}
+	}
+
+	// Simula a instância que caiu depois do primeiro lote: o job fica EM_EXECUCAO com o checkpoint gravado e o
+	// arquivo tem, além do checkpoint, o começo de uma linha que não chegou a ser sincronizada
+	@Test
+	void jobInterrompidoRetomaDoCheckpointSemRepetirLinhas() throws Exception {
+		List<Cliente> novos = new ArrayList<>();
+		for (int i = 5; i < 2500; i++) {
+			novos.add(novoCliente("Empresa " + i, "empresa" + i + "@crm.com", TipoPessoa.JURIDICA, null));
+		}
+		clienteRepository.saveAll(novos);
+
+		Exportacao referencia = aguardarConclusao(exportacaoService.solicitar(
+				new ExportacaoPedidoDTO(Entidade.CLIENTES, Formato.NDJSON, null, null, null)).getId());
+		Path caminhoReferencia = exportacaoService.getArquivo(referencia.getId()).caminho();
+		byte[] esperado = Files.readAllBytes(caminhoReferencia);
+
+		LocalDateTime antes = LocalDateTime.now().minusHours(1);
+		Exportacao interrompida = exportacaoRepository.save(
+				new Exportacao(Entidade.CLIENTES, Formato.NDJSON, null, null, null, antes));
+		Long id = interrompida.getId();
+		long ultimoIdDoPrimeiroLote = clienteRepository.findAll(Sort.by("id")).get(999).getId();
+		int bytesDoPrimeiroLote = posicaoDepoisDaLinha(esperado, 1000);
+		exportacaoRepository.assumir(id, 0, EnumSet.of(Situacao.PENDENTE), Situacao.EM_EXECUCAO, antes);
+		exportacaoRepository.registrarProgresso(id, 1, ultimoIdDoPrimeiroLote, 1000, bytesDoPrimeiroLote, antes);
+
+		Path caminho = caminhoReferencia.resolveSibling("exportacao-" + id + ".ndjson");
+		byte[] parcial = Arrays.copyOf(esperado, bytesDoPrimeiroLote + 20);
+		Files.write(caminho, parcial);
+
+		exportacaoService.retomarAbandonadas();
+
+		Exportacao retomada = aguardarConclusao(id);
+		assertThat(retomada.getSituacao()).isEqualTo(Situacao.CONCLUIDA);
+		assertThat(retomada.getExecucao()).isEqualTo(2);
+		assertThat(retomada.getLinhas()).isEqualTo(2500);
+		assertThat(Files.readAllBytes(caminho)).isEqualTo(esperado);
+	}
+
+	private static int posicaoDepoisDaLinha(byte[] conteudo, int linha) {
+		int linhas = 0;
+		for (int i = 0; i < conteudo.length; i++) {
+			if (conteudo[i] == '\n' && ++linhas == linha) {
+				return i + 1;
+			}
+		}
+		throw new IllegalArgumentException("O conteúdo tem menos de " + linha + " linhas");
+	}
+
+	private Exportacao aguardarConclusao(Long id) throws InterruptedException {
+		for (int tentativa = 0; tentativa < 100; tentativa++) {
+			Exportacao exportacao = exportacaoService.getById(id);
+			if (exportacao.getSituacao() == Situacao.CONCLUIDA || exportacao.getSituacao() == Situacao.FALHOU) {
+				return exportacao;
+			}
+			Thread.sleep(100);
+		}
+		return exportacaoService.getById(id);
+	}
+}
@@ -0,0 +1,74 @@
+package com.generation.crm_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.generation.crm_backend.TesteDeIntegracao;
+import com.generation.crm_backend.dto.FunilEtapa;
+import com.generation.crm_backend.dto.FunilMetricas;
+import com.generation.crm_backend.dto.FunilUsuario;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.model.Usuario;
+
+// Os contadores atualizados pelos eventos precisam chegar ao mesmo resultado que a reconstrução a partir do banco
+class FunilMetricasServiceTest extends TesteDeIntegracao {
+
+	@Autowired
+	private FunilMetricasService funilMetricasService;
+
+	@Autowired
+	private OportunidadeService oportunidadeService;
+
+	@Autowired
+	private ClienteService clienteService;
+
+	private Usuario usuario;
+
+	@BeforeEach
+	void setUp() {
+		usuario = criarUsuario("vendedor@crm.com");
+		// Outros testes apagam dados direto no banco, sem eventos: parte do estado atual
+		funilMetricasService.reconstruir();
+	}
+
+	@Test
+	void contadoresIncrementaisBatemComAReconstrucao() {
+		Cliente mantido = criarCliente("Cliente mantido", "mantido@crm.com", TipoPessoa.JURIDICA, 5f);
+		Cliente excluido = criarCliente("Cliente excluído", "excluido@crm.com", TipoPessoa.FISICA, 3f);
+
+		Oportunidade ganha = oportunidadeService.save(
+				novaOportunidade(mantido, usuario, StatusOportunidade.NOVA, "1000.00"));
+		oportunidadeService.atualizarStatusOportunidade(ganha.getId(), StatusOportunidade.EM_NEGOCIACAO);
+		oportunidadeService.atualizarStatusOportunidade(ganha.getId(), StatusOportunidade.GANHA);
+
+		Oportunidade apagada = oportunidadeService.save(
+				novaOportunidade(mantido, usuario, StatusOportunidade.EM_NEGOCIACAO, "2500.50"));
+		oportunidadeService.deleteById(apagada.getId());
+
+		// Removidas pela cascata da exclusão do cliente
+		oportunidadeService.save(novaOportunidade(excluido, usuario, StatusOportunidade.NOVA, "300.25"));
+		Oportunidade perdida = oportunidadeService.save(
+				novaOportunidade(excluido, usuario, StatusOportunidade.EM_NEGOCIACAO, "700.00"));
+		oportunidadeService.atualizarStatusOportunidade(perdida.getId(), StatusOportunidade.PERDIDA);
+		clienteService.delete(excluido.getId());
+
+		FunilMetricas incremental = funilMetricasService.getFunil();
+		FunilUsuario incrementalDoUsuario = funilMetricasService.getFunilDoUsuario(usuario.getId());
+
+		funilMetricasService.reconstruir();
+
+		assertThat(incremental.etapas()).isEqualTo(funilMetricasService.getFunil().etapas());
+		assertThat(incremental.taxaVitoria()).isEqualTo(funilMetricasService.getFunil().taxaVitoria());
+		assertThat(incrementalDoUsuario).isEqualTo(funilMetricasService.getFunilDoUsuario(usuario.getId()));
+
+		FunilEtapa ganhas = incremental.etapas().get(StatusOportunidade.GANHA.ordinal());
+		assertThat(ganhas.quantidade()).isEqualTo(1);
+		assertThat(incremental.etapas().get(StatusOportunidade.PERDIDA.ordinal()).quantidade()).isZero();
+	}
+}
@@ -0,0 +1,221 @@
+package com.generation.crm_backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.generation.crm_backend.TesteDeIntegracao;
+import com.generation.crm_backend.dto.TransicaoEmLoteDTO;
+import com.generation.crm_backend.dto.TransicaoEmLoteItem;
+import com.generation.crm_backend.dto.TransicaoEmLoteResultado;
+import com.generation.crm_backend.model.Cliente;
+import com.generation.crm_backend.model.Cliente.TipoPessoa;
+import com.generation.crm_backend.model.HistoricoStatus;
+import com.generation.crm_backend.model.Oportunidade;
+import com.generation.crm_backend.model.StatusOportunidade;
+import com.generation.crm_backend.model.Usuario;
+
+// Várias threads disputam a mesma oportunidade: nenhuma transição gravada pode violar as regras do funil
+class OportunidadeConcorrenciaTest extends TesteDeIntegracao {
+
+	private static final int THREADS = 8;
+
+	private static final int RODADAS = 20;
+
+	private static final StatusOportunidade[] DESTINOS = { StatusOportunidade.GANHA, StatusOportunidade.ARQUIVADA,
+			StatusOportunidade.PERDIDA, StatusOportunidade.NOVA };
+
+	@Autowired
+	private OportunidadeService oportunidadeService;
+
+	@Autowired
+	private TransacaoDosEventos transacaoDosEventos;
+
+	private Cliente cliente;
+
+	private Usuario usuario;
+
+	@BeforeEach
+	void setUp() {
+		usuario = criarUsuario("vendedor@crm.com");
+		cliente = criarCliente("Cliente Teste", "cliente@crm.com", TipoPessoa.JURIDICA, null);
+	}
+
+	@Test
+	void transicoesSimultaneasRespeitamAsRegrasDoFunil() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int rodada = 0; rodada < RODADAS; rodada++) {
+				Long id = criarEmNegociacao().getId();
+				CountDownLatch largada = new CountDownLatch(1);
+
+				List<Future<Boolean>> resultados = new ArrayList<>();
+				for (int i = 0; i < THREADS; i++) {
+					StatusOportunidade destino = DESTINOS[i % DESTINOS.length];
+					resultados.add(executor.submit(() -> {
+						largada.await();
+						try {
+							oportunidadeService.atualizarStatusOportunidade(id, destino);
+							return true;
+						} catch (ResponseStatusException | ConcurrencyFailureException e) {
+							return false;
+						}
+					}));
+				}
+				largada.countDown();
+
+				int aplicadas = 0;
+				for (Future<Boolean> resultado : resultados) {
+					if (resultado.get(30, TimeUnit.SECONDS)) {
+						aplicadas++;
+					}
+				}
+
+				List<HistoricoStatus> historico = historicoStatusRepository
+						.findByOportunidadeIdOrderByDataTransicaoAscIdAsc(id);
+				assertThat(aplicadas).isGreaterThan(0);
+				assertThat(historico).hasSize(aplicadas + 1);
+				assertHistoricoValido(historico);
+
+				StatusOportunidade statusFinal = oportunidadeRepository.findById(id).orElseThrow().getStatus();
+				assertThat(statusFinal).isEqualTo(historico.get(historico.size() - 1).getStatusNovo());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// O caminho sem If-Match (usado pela maioria dos chamadores) também grava status e histórico numa transação só
+	@Test
+	void transicaoSemVersaoRodaNumaTransacao() {
+		Oportunidade oportunidade = criarEmNegociacao();
+		transacaoDosEventos.ativas.clear();
+
+		oportunidadeService.atualizarStatusOportunidade(oportunidade.getId(), StatusOportunidade.GANHA);
+
+		assertThat(transacaoDosEventos.ativas).containsExactly(true);
+	}
+
+	@Test
+	void ifMatchDesatualizadoNaoAlteraAOportunidade() {
+		Oportunidade oportunidade = criarEmNegociacao();
+		Long versaoLida = oportunidade.getVersao();
+
+		Oportunidade ganha = oportunidadeService.atualizarStatusOportunidade(oportunidade.getId(),
+				StatusOportunidade.GANHA, versaoLida);
+		assertThat(ganha.getVersao()).isEqualTo(versaoLida + 1);
+
+		// Segunda requisição, validada contra a leitura anterior à primeira
+		assertThatThrownBy(() -> oportunidadeService.atualizarStatusOportunidade(oportunidade.getId(),
+				StatusOportunidade.ARQUIVADA, versaoLida))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+
+		assertThat(oportunidadeRepository.findById(oportunidade.getId()).orElseThrow().getStatus())
+				.isEqualTo(StatusOportunidade.GANHA);
+	}
+
+	@Test
+	void transicaoEmLoteAplicaAsRegrasPorOportunidade() {
+		Long emNegociacao = criarEmNegociacao().getId();
+		Long ganha = oportunidadeService.atualizarStatusOportunidade(criarEmNegociacao().getId(),
+				StatusOportunidade.GANHA).getId();
+		Long inexistente = -1L;
+
+		TransicaoEmLoteResultado resultado = oportunidadeService.atualizarStatusEmLote(new TransicaoEmLoteDTO(
+				StatusOportunidade.PERDIDA, List.of(emNegociacao, ganha, inexistente), null, null));
+
+		assertThat(resultado.aplicadas()).isEqualTo(1);
+		assertThat(resultado.itens()).extracting(TransicaoEmLoteItem::resultado).containsExactly(
+				TransicaoEmLoteItem.Resultado.APLICADA, TransicaoEmLoteItem.Resultado.NAO_PERMITIDA,
+				TransicaoEmLoteItem.Resultado.NAO_ENCONTRADA);
+		assertThat(oportunidadeRepository.findById(emNegociacao).orElseThrow().getStatus())
+				.isEqualTo(StatusOportunidade.PERDIDA);
+		assertThat(oportunidadeRepository.findById(ganha).orElseThrow().getStatus())
+				.isEqualTo(StatusOportunidade.GANHA);
+
+		List<HistoricoStatus> historico = historicoStatusRepository
+				.findByOportunidadeIdOrderByDataTransicaoAscIdAsc(emNegociacao);
+		assertThat(historico).hasSize(2);
+		assertHistoricoValido(historico);
+	}
+
+	// O PUT da oportunidade inteira não pode contornar as regras do funil mudando o status no corpo
+	@Test
+	void putNaoReabreOportunidadeGanha() throws Exception {
+		Oportunidade ganha = oportunidadeService.atualizarStatusOportunidade(criarEmNegociacao().getId(),
+				StatusOportunidade.GANHA);
+
+		for (StatusOportunidade destino : List.of(StatusOportunidade.NOVA, StatusOportunidade.PERDIDA)) {
+			mockMvc.perform(put("/oportunidades").contentType(MediaType.APPLICATION_JSON)
+					.content(corpoDoPut(ganha, destino)))
+					.andExpect(status().isBadRequest());
+		}
+		assertThat(oportunidadeRepository.findById(ganha.getId()).orElseThrow().getStatus())
+				.isEqualTo(StatusOportunidade.GANHA);
+
+		mockMvc.perform(put("/oportunidades").contentType(MediaType.APPLICATION_JSON)
+				.content(corpoDoPut(ganha, StatusOportunidade.ARQUIVADA)))
+				.andExpect(status().isOk());
+		assertThat(historicoStatusRepository.findByOportunidadeIdOrderByDataTransicaoAscIdAsc(ganha.getId()))
+				.extracting(HistoricoStatus::getStatusNovo).containsExactly(StatusOportunidade.EM_NEGOCIACAO,
+						StatusOportunidade.GANHA, StatusOportunidade.ARQUIVADA);
+	}
+
+	// Cada registro parte do status gravado pelo anterior e é uma transição permitida
+	private void assertHistoricoValido(List<HistoricoStatus> historico) {
+		assertThat(historico.get(0).getStatusAnterior()).isNull();
+		for (int i = 1; i < historico.size(); i++) {
+			HistoricoStatus anterior = historico.get(i - 1);
+			HistoricoStatus atual = historico.get(i);
+			assertThat(atual.getStatusAnterior()).isEqualTo(anterior.getStatusNovo());
+			assertThat(atual.getStatusAnterior().permiteTransicaoPara(atual.getStatusNovo()))
+					.as("%s -> %s", atual.getStatusAnterior(), atual.getStatusNovo()).isTrue();
+		}
+	}
+
+	private String corpoDoPut(Oportunidade oportunidade, StatusOportunidade status) {
+		return """
+				{"id": %d, "titulo": "Oportunidade de teste", "valorEstimado": 1000.00, "status": "%s",
+				"dataCriacao": "%s", "cliente": {"id": %d}, "usuario": {"id": %d}}
+				""".formatted(oportunidade.getId(), status, oportunidade.getDataCriacao(), cliente.getId(),
+				usuario.getId());
+	}
+
+	private Oportunidade criarEmNegociacao() {
+		return oportunidadeService.save(novaOportunidade(cliente, usuario, StatusOportunidade.EM_NEGOCIACAO, "1000.00"));
+	}
+
+	// Registra se cada evento de oportunidade foi publicado dentro de uma transação ativa
+	@TestConfiguration
+	static class TransacaoDosEventos {
+
+		final List<Boolean> ativas = new CopyOnWriteArrayList<>();
+
+		@EventListener
+		public void registrar(OportunidadeEvento evento) {
+			ativas.add(TransactionSynchronizationManager.isActualTransactionActive());
+		}
+	}
+}
@@ -0,0 +1,45 @@
+// Teste de carga para comparar threads de plataforma e threads virtuais (spring.threads.virtual.enabled).
+// Rode uma vez com a aplicação em cada modo, com o mesmo banco e o mesmo DB_POOL_SIZE:
+//   VIRTUAL_THREADS=false ./mvnw spring-boot:run  ->  k6 run -e MODO=plataforma threads_virtuais.js
+//   VIRTUAL_THREADS=true  ./mvnw spring-boot:run  ->  k6 run -e MODO=virtual threads_virtuais.js
+// Compare no resumo: http_req_duration p(99), vus_max (maior concorrência sustentada) e http_req_failed.
+// A taxa de chegada sobe até TAXA_MAXIMA req/s; quando o servidor não acompanha, o k6 abre mais VUs (até MAX_VUS),
+// então vus_max mostra quantas requisições ficaram em andamento ao mesmo tempo.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TAXA_MAXIMA = Number(__ENV.TAXA_MAXIMA || 2000);
+const MAX_VUS = Number(__ENV.MAX_VUS || 5000);
+
+export const options = {
+  scenarios: {
+    rampa: {
+      executor: 'ramping-arrival-rate',
+      startRate: 50,
+      timeUnit: '1s',
+      preAllocatedVUs: 200,
+      maxVUs: MAX_VUS,
+      stages: [
+        { target: TAXA_MAXIMA / 4, duration: '30s' },
+        { target: TAXA_MAXIMA, duration: '1m' },
+        { target: TAXA_MAXIMA, duration: '1m' },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  tags: { modo: __ENV.MODO || 'nao-informado' },
+};
+
+// Endpoints dominados por espera de JDBC: busca paginada, leitura por ID e agregado do funil
+const REQUISICOES = [
+  () => `${BASE_URL}/oportunidades/busca?status=EM_NEGOCIACAO&pagina=${Math.floor(Math.random() * 5)}&tamanho=20&view=summary`,
+  () => `${BASE_URL}/clientes/${1 + Math.floor(Math.random() * 1000)}`,
+  () => `${BASE_URL}/oportunidades/pipeline/status`,
+];
+
+export default function () {
+  const url = REQUISICOES[Math.floor(Math.random() * REQUISICOES.length)]();
+  const resposta = http.get(url, { tags: { name: url.split('?')[0].replace(/\/\d+$/, '/{id}') } });
+  check(resposta, { 'sem erro do servidor': (r) => r.status < 500 });
+}
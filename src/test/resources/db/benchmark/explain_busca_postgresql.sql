@@ -0,0 +1,65 @@
+-- Compara os planos das buscas por nome, e-mail, telefone e título antes e depois dos índices da V2.
+-- Uso (banco descartável, já migrado pelo Flyway):
+--   psql -d <banco> -f src/test/resources/db/benchmark/explain_busca_postgresql.sql
+-- As consultas reproduzem o SQL gerado pelo Hibernate para os métodos do repositório.
+
+\timing on
+
+-- Massa sintética: 200 mil clientes e 400 mil oportunidades
+insert into tb_usuarios (nome, email, senha, cargo)
+select 'Usuário ' || g, 'usuario' || g || '@bench.local', 'senha-bench', 'Vendedor'
+from generate_series(1, 50) g;
+
+insert into tb_clientes (nome, email, telefone, tipo_pessoa, cpf, lead_score, created_at, updated_at)
+select 'Cliente ' || md5(g::text), 'cliente' || g || '@bench.local', lpad(g::text, 11, '0'), 'FISICA',
+       lpad(g::text, 11, '9'), (g % 11)::real, now(), now()
+from generate_series(1, 200000) g;
+
+insert into tb_oportunidades (titulo, valor_estimado, status_oportunidade, data_criacao, usuario_id, cliente_id)
+select 'Proposta ' || md5(g::text), (g % 100000) / 10.0, 'NOVA', current_date - (g % 365),
+       (select min(id) from tb_usuarios) + g % 50, (select min(id) from tb_clientes) + g % 200000
+from generate_series(1, 400000) g;
+
+analyze tb_usuarios;
+analyze tb_clientes;
+analyze tb_oportunidades;
+
+-- ANTES: índices da V2 removidos dentro de uma transação desfeita no final
+begin;
+drop index idx_clientes_nome_trgm;
+drop index idx_oportunidades_titulo_trgm;
+drop index idx_clientes_email_upper;
+
+-- findAllByNomeContainingIgnoreCase
+explain (analyze, buffers)
+select * from tb_clientes c where upper(c.nome) like upper('%a1b2%') escape '\' order by c.id limit 20;
+
+-- findByEmailIgnoreCase
+explain (analyze, buffers)
+select * from tb_clientes c where upper(c.email) = upper('Cliente123456@bench.local');
+
+-- findByTelefoneIgnoreCase (versão anterior, antes de normalizar o telefone)
+explain (analyze, buffers)
+select * from tb_clientes c where upper(c.telefone) = upper('00000123456');
+
+-- findAllByTituloContainingIgnoreCase
+explain (analyze, buffers)
+select * from tb_oportunidades o where upper(o.titulo) like upper('%c3d4%') escape '\';
+rollback;
+
+-- DEPOIS: com os índices da V2 e o telefone buscado por igualdade
+explain (analyze, buffers)
+select * from tb_clientes c where upper(c.nome) like upper('%a1b2%') escape '\' order by c.id limit 20;
+
+explain (analyze, buffers)
+select * from tb_clientes c where upper(c.email) = upper('Cliente123456@bench.local');
+
+-- findByTelefone
+explain (analyze, buffers)
+select * from tb_clientes c where c.telefone = '00000123456';
+
+explain (analyze, buffers)
+select * from tb_oportunidades o where upper(o.titulo) like upper('%c3d4%') escape '\';
+
+-- Limpa as tabelas (por isso o banco precisa ser descartável)
+truncate tb_oportunidades, tb_clientes, tb_usuarios restart identity;